@@ -0,0 +1,105 @@
+package com.github.luiox.freesia.handler;
+
+import com.github.luiox.freesia.EventManager;
+import com.github.luiox.freesia.filter.EventFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListenerBindingsTest {
+
+    @Test
+    void shouldGenerateBindingForAccessibleListener() throws Exception {
+        ListenerBinding binding = ListenerBindings.find(GeneratedListener.class);
+        assertNotNull(binding);
+        assertEquals(GeneratedListener.class.getName() + ListenerBinding.SUFFIX, binding.getClass().getName());
+
+        GeneratedListener listener = new GeneratedListener();
+        Map<Class<?>, Set<EventHandler>> handlers = new BindingHandlerScanner(new MethodHandlerScanner()).locate(listener);
+        assertEquals(1, handlers.size());
+
+        EventHandler handler = handlers.get(String.class).iterator().next();
+        assertTrue(handler instanceof MethodEventHandler);
+        assertEquals(GeneratedListener.class.getDeclaredMethod("onString", String.class), handler.getListener());
+        assertEquals(7, handler.getPriority());
+        assertTrue(handler.getFilters().iterator().next() instanceof RejectBlankFilter);
+
+        handler.handle("value");
+        handler.handle(" ");
+        assertEquals(1, listener.calls);
+    }
+
+    @Test
+    void shouldFallBackToReflectionWithoutBinding() {
+        assertNull(ListenerBindings.find(GenericListener.class));
+
+        EventManager eventManager = new EventManager();
+        GenericListener<Integer> listener = new GenericListener<>();
+        assertTrue(eventManager.register(listener));
+        eventManager.post("value");
+        assertEquals(1, listener.calls);
+        eventManager.shutdown();
+    }
+
+    @Test
+    void shouldDispatchThroughGeneratedBinding() {
+        EventManager eventManager = new EventManager();
+        GeneratedListener listener = new GeneratedListener();
+        assertTrue(eventManager.register(listener));
+        eventManager.post("value");
+        assertTrue(eventManager.unregister(listener));
+        eventManager.post("value");
+        assertEquals(1, listener.calls);
+        eventManager.shutdown();
+    }
+
+    @Test
+    void shouldBindObjectTypedListener() {
+        assertNotNull(ListenerBindings.find(ObjectListener.class));
+
+        EventManager eventManager = new EventManager();
+        ObjectListener listener = new ObjectListener();
+        assertTrue(eventManager.register(listener));
+        eventManager.post("value");
+        eventManager.post(1);
+        assertEquals(2, listener.calls);
+        eventManager.shutdown();
+    }
+
+    public static class RejectBlankFilter implements EventFilter<String> {
+        @Override
+        public boolean test(EventHandler eventHandler, String event) {
+            return !event.trim().isEmpty();
+        }
+    }
+
+    public static class GeneratedListener {
+        private int calls;
+
+        @Listener(priority = 7, filters = {RejectBlankFilter.class})
+        public void onString(String event) {
+            calls++;
+        }
+    }
+
+    public static class ObjectListener {
+        private int calls;
+
+        @Listener
+        public void onAny(Object event) {
+            calls++;
+        }
+    }
+
+    public static class GenericListener<T> {
+        private int calls;
+
+        @Listener
+        public void onString(String event) {
+            calls++;
+        }
+    }
+}
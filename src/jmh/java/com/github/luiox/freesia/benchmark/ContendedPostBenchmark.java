@@ -0,0 +1,65 @@
+package com.github.luiox.freesia.benchmark;
+
+import com.github.luiox.freesia.EventManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ContendedPostBenchmark {
+    @Param({"1", "10"})
+    private int handlers;
+
+    private EventManager eventManager;
+    private Fixtures.PlainEvent event;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.eventManager = new EventManager();
+        for (int i = 0; i < this.handlers; i++)
+            this.eventManager.register(new Fixtures.SyncListener());
+
+        this.event = new Fixtures.PlainEvent(42L);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object postFromFourProducers() {
+        return this.eventManager.post(this.event);
+    }
+
+    @Benchmark
+    @Group("postDuringChurn")
+    @GroupThreads(3)
+    public Object post() {
+        return this.eventManager.post(this.event);
+    }
+
+    @Benchmark
+    @Group("postDuringChurn")
+    @GroupThreads(1)
+    public boolean churn() {
+        Object listener = new Fixtures.SyncListener();
+        this.eventManager.register(listener);
+        return this.eventManager.unregister(listener);
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.luiox.freesia.benchmark;
+
+import com.github.luiox.freesia.Event;
+import com.github.luiox.freesia.filter.EventFilter;
+import com.github.luiox.freesia.handler.EventHandler;
+import com.github.luiox.freesia.handler.Listener;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+final class Fixtures {
+    static final long WORK_TOKENS = 1L;
+
+    private Fixtures() {
+    }
+
+    static Object newListener(boolean filtered, boolean async) {
+        if (async)
+            return filtered ? new FilteredAsyncListener() : new AsyncListener();
+        return filtered ? new FilteredSyncListener() : new SyncListener();
+    }
+
+    static ExecutorService newAsyncExecutor() {
+        return new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1024), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public static final class PlainEvent {
+        public final long value;
+
+        public PlainEvent(long value) {
+            this.value = value;
+        }
+    }
+
+    public static final class CancellableEvent extends Event {
+        public final long value;
+
+        public CancellableEvent(long value) {
+            this.value = value;
+        }
+    }
+
+    public static final class PassFilter implements EventFilter<Object> {
+        @Override
+        public boolean test(EventHandler eventHandler, Object event) {
+            return true;
+        }
+    }
+
+    public static class SyncListener {
+        @Listener
+        public void onPlain(PlainEvent event) {
+            Blackhole.consumeCPU(WORK_TOKENS);
+        }
+
+        @Listener
+        public void onCancellable(CancellableEvent event) {
+            Blackhole.consumeCPU(WORK_TOKENS);
+        }
+    }
+
+    public static class FilteredSyncListener {
+        @Listener(filters = {PassFilter.class})
+        public void onPlain(PlainEvent event) {
+            Blackhole.consumeCPU(WORK_TOKENS);
+        }
+
+        @Listener(filters = {PassFilter.class})
+        public void onCancellable(CancellableEvent event) {
+            Blackhole.consumeCPU(WORK_TOKENS);
+        }
+    }
+
+    public static class AsyncListener {
+        @Listener(async = true)
+        public void onPlain(PlainEvent event) {
+            Blackhole.consumeCPU(WORK_TOKENS);
+        }
+
+        @Listener(async = true)
+        public void onCancellable(CancellableEvent event) {
+            Blackhole.consumeCPU(WORK_TOKENS);
+        }
+    }
+
+    public static class FilteredAsyncListener {
+        @Listener(async = true, filters = {PassFilter.class})
+        public void onPlain(PlainEvent event) {
+            Blackhole.consumeCPU(WORK_TOKENS);
+        }
+
+        @Listener(async = true, filters = {PassFilter.class})
+        public void onCancellable(CancellableEvent event) {
+            Blackhole.consumeCPU(WORK_TOKENS);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.luiox.freesia.benchmark;
+
+import com.github.luiox.freesia.EventManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PostBenchmark {
+    @Param({"0", "1", "10", "100"})
+    private int handlers;
+
+    @Param({"false", "true"})
+    private boolean filtered;
+
+    @Param({"false", "true"})
+    private boolean cancellable;
+
+    @Param({"false", "true"})
+    private boolean async;
+
+    private ExecutorService executorService;
+    private EventManager eventManager;
+    private Object event;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.executorService = Fixtures.newAsyncExecutor();
+        this.eventManager = new EventManager(this.executorService);
+        for (int i = 0; i < this.handlers; i++)
+            this.eventManager.register(Fixtures.newListener(this.filtered, this.async));
+
+        this.event = this.cancellable ? new Fixtures.CancellableEvent(42L) : new Fixtures.PlainEvent(42L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        this.executorService.shutdown();
+        this.executorService.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public Object post() {
+        return this.eventManager.post(this.event);
+    }
+}
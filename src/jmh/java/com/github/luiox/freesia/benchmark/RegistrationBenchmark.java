@@ -0,0 +1,53 @@
+package com.github.luiox.freesia.benchmark;
+
+import com.github.luiox.freesia.EventManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RegistrationBenchmark {
+    @Param({"0", "10", "100"})
+    private int resident;
+
+    private EventManager eventManager;
+    private Object reusedListener;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.eventManager = new EventManager();
+        for (int i = 0; i < this.resident; i++)
+            this.eventManager.register(new Fixtures.SyncListener());
+
+        this.reusedListener = new Fixtures.SyncListener();
+    }
+
+    @Benchmark
+    public boolean churnNewInstance() {
+        Object listener = new Fixtures.SyncListener();
+        this.eventManager.register(listener);
+        return this.eventManager.unregister(listener);
+    }
+
+    @Benchmark
+    public boolean churnSameInstance() {
+        this.eventManager.register(this.reusedListener);
+        return this.eventManager.unregister(this.reusedListener);
+    }
+}
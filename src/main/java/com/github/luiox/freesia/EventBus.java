@@ -1,11 +1,52 @@
 package com.github.luiox.freesia;
 
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
 public interface EventBus {
     <E> E post(E object);
 
+    default <E> CompletableFuture<E> postAsync(E event) {
+        CompletableFuture<E> future = new CompletableFuture<>();
+        try {
+            future.complete(this.post(event));
+        } catch (RuntimeException exception) {
+            future.completeExceptionally(exception);
+        }
+        return future;
+    }
+
+    default void postAll(Collection<?> events) {
+        for (Object event : events)
+            this.post(event);
+    }
+
+    default void postBatch(Object[] events) {
+        for (Object event : events)
+            this.post(event);
+    }
+
     boolean isRegistered(Object object);
 
     boolean register(Object object);
 
     boolean unregister(Object object);
+
+    default int registerAll(Collection<?> listeners) {
+        int registered = 0;
+        for (Object listener : listeners) {
+            if (this.register(listener))
+                registered++;
+        }
+        return registered;
+    }
+
+    default int unregisterAll(Collection<?> listeners) {
+        int unregistered = 0;
+        for (Object listener : listeners) {
+            if (this.unregister(listener))
+                unregistered++;
+        }
+        return unregistered;
+    }
 }
\ No newline at end of file
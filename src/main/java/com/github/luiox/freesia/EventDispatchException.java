@@ -0,0 +1,28 @@
+package com.github.luiox.freesia;
+
+import java.util.Collections;
+import java.util.List;
+
+public class EventDispatchException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final transient Object event;
+    private final List<Throwable> failures;
+
+    public EventDispatchException(Object event, List<Throwable> failures) {
+        super(failures.size() + " listener(s) failed while handling " + event.getClass().getName(),
+                failures.isEmpty() ? null : failures.get(0));
+        this.event = event;
+        this.failures = Collections.unmodifiableList(failures);
+        for (int i = 1; i < failures.size(); i++)
+            this.addSuppressed(failures.get(i));
+    }
+
+    public Object getEvent() {
+        return this.event;
+    }
+
+    public List<Throwable> getFailures() {
+        return this.failures;
+    }
+}
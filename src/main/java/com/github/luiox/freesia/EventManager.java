@@ -1,94 +1,832 @@
 package com.github.luiox.freesia;
 
+import com.github.luiox.freesia.async.AsyncDispatcher;
+import com.github.luiox.freesia.async.ConflatingAsyncDispatcher;
+import com.github.luiox.freesia.async.DispatchTarget;
+import com.github.luiox.freesia.async.ExecutorAsyncDispatcher;
+import com.github.luiox.freesia.async.PartitionedAsyncDispatcher;
+import com.github.luiox.freesia.async.TargetedAsyncDispatcher;
+import com.github.luiox.freesia.async.VirtualThreadAsyncDispatcher;
+import com.github.luiox.freesia.dispatch.BatchAccumulator;
+import com.github.luiox.freesia.dispatch.DispatchChain;
+import com.github.luiox.freesia.dispatch.HandlerBucket;
+import com.github.luiox.freesia.dispatch.StickyBuffer;
+import com.github.luiox.freesia.dispatch.TypeHierarchy;
+import com.github.luiox.freesia.failure.CircuitBreakerPolicy;
+import com.github.luiox.freesia.failure.ExceptionHandler;
+import com.github.luiox.freesia.failure.GuardedEventHandler;
+import com.github.luiox.freesia.handler.BatchEventAction;
+import com.github.luiox.freesia.handler.BatchEventHandler;
+import com.github.luiox.freesia.handler.BindingHandlerScanner;
+import com.github.luiox.freesia.handler.EventAction;
 import com.github.luiox.freesia.handler.EventHandler;
 import com.github.luiox.freesia.handler.EventHandlerScanner;
+import com.github.luiox.freesia.handler.KeyedEventHandler;
 import com.github.luiox.freesia.handler.MethodHandlerScanner;
+import com.github.luiox.freesia.journal.EventJournal;
+import com.github.luiox.freesia.metrics.EventMetrics;
+import com.github.luiox.freesia.metrics.EventTypeRecorder;
+import com.github.luiox.freesia.metrics.InstrumentedEventHandler;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 import java.util.Objects;
 
 public class EventManager implements EventBus {
-    private final Map<Object, Map<Class<?>, List<EventHandler>>> listenerHandlers = new ConcurrentHashMap<>();
-    private final Map<Class<?>, CopyOnWriteArrayList<EventHandler>> handlersByEventType = new ConcurrentHashMap<>();
-    private final EventHandlerScanner eventHandlerScanner = new MethodHandlerScanner();
-    private final ExecutorService executorService;
+    private static final Object TOPOLOGY_LOCK = new Object();
+    private static final long EXPUNGE_INTERVAL_MILLIS = 1000L;
+
+    private final Map<Object, Registration> registrations = new ConcurrentHashMap<>();
+    private final Map<Class<?>, HandlerBucket> handlersByEventType = new ConcurrentHashMap<>();
+    private final Map<Class<?>, DispatchChain> resolvedChains = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> collectedListeners = new ReferenceQueue<>();
+    private final AtomicLong epoch = new AtomicLong();
+    private final EventHandlerScanner eventHandlerScanner = new BindingHandlerScanner(new MethodHandlerScanner());
+    private final Map<EventHandler, BatchAccumulator> batchAccumulators = new ConcurrentHashMap<>();
+    private final TargetedAsyncDispatcher asyncDispatcher;
+    private final EventMetrics metrics;
+    private final ExceptionHandler exceptionHandler;
+    private final CircuitBreakerPolicy circuitBreaker;
+    private final List<Link> links = new CopyOnWriteArrayList<>();
+    private final Set<EventManager> downstream = ConcurrentHashMap.newKeySet();
+    private final Map<Class<?>, StickyBuffer> stickyEvents = new ConcurrentHashMap<>();
+    private final Object stickyLock = new Object();
+    private final int stickyRetention;
+    private final Map<Class<?>, Integer> stickyRetentionByType;
+    private final EventJournal journal;
+    private volatile ScheduledExecutorService scheduler;
+    private volatile ScheduledFuture<?> expunger;
 
     public EventManager() {
         this(Executors.newCachedThreadPool());
     }
 
     public EventManager(ExecutorService executorService) {
-        this.executorService = executorService;
+        this(new ExecutorAsyncDispatcher(executorService));
+    }
+
+    public EventManager(AsyncDispatcher asyncDispatcher) {
+        this(builder().asyncDispatcher(asyncDispatcher));
+    }
+
+    private EventManager(Builder builder) {
+        this.asyncDispatcher = new TargetedAsyncDispatcher(builder.asyncDispatcherFactory != null
+                ? builder.asyncDispatcherFactory.get() : new ExecutorAsyncDispatcher(Executors.newCachedThreadPool()));
+        this.metrics = builder.metrics;
+        this.exceptionHandler = builder.exceptionHandler;
+        this.circuitBreaker = builder.circuitBreaker;
+        this.stickyRetention = builder.stickyRetention;
+        this.stickyRetentionByType = new HashMap<>(builder.stickyRetentionByType);
+        this.journal = builder.journal;
+        if (builder.parent != null)
+            this.attach(new Link(builder.parent, builder.parentTypes, true));
+    }
+
+    public static Builder builder() {
+        return new Builder();
     }
 
     public <E> E post(E event) {
         Objects.requireNonNull(event, "event");
-        CopyOnWriteArrayList<EventHandler> handlers = this.handlersByEventType.get(event.getClass());
-        if (handlers == null || handlers.isEmpty())
-            return event;
+        if (this.journal != null)
+            this.journal.append(event);
+        this.chainFor(event.getClass()).dispatch(event);
+        return event;
+    }
 
-        for (EventHandler eventHandler : handlers) {
-            if (event instanceof ICancellable && ((ICancellable) event).isCancelled())
-                break;
+    public <E> E postSticky(E event) {
+        Objects.requireNonNull(event, "event");
+        DispatchChain chain;
+        synchronized (this.stickyLock) {
+            this.stickyEvents.computeIfAbsent(event.getClass(), eventType -> new StickyBuffer(
+                    this.stickyRetentionByType.getOrDefault(eventType, this.stickyRetention))).add(event);
+            chain = this.chainFor(event.getClass());
+        }
+        if (this.journal != null)
+            this.journal.append(event);
+        chain.dispatch(event);
+        return event;
+    }
 
-            if (eventHandler.isAsync()) {
-                this.executorService.execute(() -> eventHandler.handle(event));
-            } else {
-                eventHandler.handle(event);
+    public <E> E getSticky(Class<E> eventType) {
+        Objects.requireNonNull(eventType, "eventType");
+        StickyBuffer buffer = this.stickyEvents.get(eventType);
+        return buffer != null ? eventType.cast(buffer.latest()) : null;
+    }
+
+    public boolean removeSticky(Class<?> eventType) {
+        Objects.requireNonNull(eventType, "eventType");
+        return this.stickyEvents.remove(eventType) != null;
+    }
+
+    @Override
+    public <E> CompletableFuture<E> postAsync(E event) {
+        Objects.requireNonNull(event, "event");
+        if (this.journal != null)
+            this.journal.append(event);
+        return this.chainFor(event.getClass()).dispatchAsync(event, this.asyncDispatcher);
+    }
+
+    public <E> CompletableFuture<E> postAsync(E event, long timeout, TimeUnit unit) {
+        Objects.requireNonNull(unit, "unit");
+        CompletableFuture<E> future = this.postAsync(event);
+        if (future.isDone())
+            return future;
+
+        ScheduledFuture<?> timer = this.scheduler().schedule(() -> future.completeExceptionally(
+                new TimeoutException("Listeners did not finish within " + timeout + " " + unit)), timeout, unit);
+        future.whenComplete((result, failure) -> timer.cancel(false));
+        return future;
+    }
+
+    @Override
+    public void postAll(Collection<?> events) {
+        Objects.requireNonNull(events, "events");
+        this.postBatch(events.toArray());
+    }
+
+    @Override
+    public void postBatch(Object[] events) {
+        Objects.requireNonNull(events, "events");
+        int from = 0;
+        while (from < events.length) {
+            Class<?> eventType = Objects.requireNonNull(events[from], "event").getClass();
+            int to = from + 1;
+            while (to < events.length && Objects.requireNonNull(events[to], "event").getClass() == eventType)
+                to++;
+            if (this.journal != null) {
+                for (int i = from; i < to; i++)
+                    this.journal.append(events[i]);
             }
+
+            this.chainFor(eventType).dispatchBatch(events, from, to);
+            from = to;
+        }
+    }
+
+    public DispatchTarget target(String name) {
+        Objects.requireNonNull(name, "name");
+        return this.asyncDispatcher.target(name);
+    }
+
+    public DispatchTarget target(String name, int capacity) {
+        Objects.requireNonNull(name, "name");
+        return this.asyncDispatcher.target(name, capacity);
+    }
+
+    public void bridge(EventManager target, Class<?>... eventTypes) {
+        Objects.requireNonNull(target, "target");
+        if (eventTypes.length == 0)
+            throw new IllegalArgumentException("Expected at least one bridged event type");
+        this.attach(new Link(target, eventTypes.clone(), false));
+    }
+
+    public boolean unbridge(EventManager target) {
+        Objects.requireNonNull(target, "target");
+        boolean removed;
+        synchronized (TOPOLOGY_LOCK) {
+            removed = this.links.removeIf(link -> link.target == target && !link.unmatched);
+            if (removed && this.links.stream().noneMatch(link -> link.target == target))
+                target.downstream.remove(this);
+        }
+        if (removed)
+            this.publish(Collections.singleton(Object.class));
+        return removed;
+    }
+
+    public long replay(long fromSequence, long toSequence) {
+        if (this.journal == null)
+            throw new IllegalStateException("No journal configured");
+        try {
+            return this.journal.replay(fromSequence, toSequence, event -> this.chainFor(event.getClass()).dispatch(event));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
         }
-        return event;
     }
 
     public boolean isRegistered(Object listener) {
         Objects.requireNonNull(listener, "listener");
-        return this.listenerHandlers.containsKey(listener);
+        return this.registrations.containsKey(listener) || this.registrations.containsKey(new WeakKey(listener, null));
     }
 
-    public synchronized boolean register(Object listenerContainer) {
+    public boolean register(Object listenerContainer) {
         Objects.requireNonNull(listenerContainer, "listenerContainer");
-        if (this.listenerHandlers.containsKey(listenerContainer))
-            return false;
+        return this.registerAll(Collections.singletonList(listenerContainer)) == 1;
+    }
 
-        Map<Class<?>, Set<EventHandler>> eventHandlers = this.eventHandlerScanner.locate(listenerContainer);
-        if (eventHandlers.isEmpty())
-            return false;
+    public boolean register(Object listenerContainer, Object key) {
+        Objects.requireNonNull(listenerContainer, "listenerContainer");
+        Objects.requireNonNull(key, "key");
+        return this.registerAll(Collections.singletonList(listenerContainer), false, key) == 1;
+    }
 
-        Map<Class<?>, List<EventHandler>> indexedHandlers = new HashMap<>();
-        eventHandlers.forEach((eventType, handlers) -> {
-            CopyOnWriteArrayList<EventHandler> bucket = this.handlersByEventType.computeIfAbsent(eventType, key -> new CopyOnWriteArrayList<>());
-            bucket.addAll(handlers);
-            bucket.sort(Comparator.naturalOrder());
-            indexedHandlers.put(eventType, new ArrayList<>(handlers));
-        });
+    public boolean registerWeak(Object listenerContainer) {
+        Objects.requireNonNull(listenerContainer, "listenerContainer");
+        if (this.expunger == null)
+            this.startExpunger();
+        return this.registerAll(Collections.singletonList(listenerContainer), true, null) == 1;
+    }
 
-        return (this.listenerHandlers.put(listenerContainer, indexedHandlers) == null);
+    @Override
+    public int registerAll(Collection<?> listenerContainers) {
+        return this.registerAll(listenerContainers, false, null);
     }
 
-    public synchronized boolean unregister(Object listenerContainer) {
+    public boolean unregister(Object listenerContainer) {
         Objects.requireNonNull(listenerContainer, "listenerContainer");
-        Map<Class<?>, List<EventHandler>> registeredHandlers = this.listenerHandlers.remove(listenerContainer);
-        if (registeredHandlers == null)
-            return false;
+        return this.unregisterAll(Collections.singletonList(listenerContainer)) == 1;
+    }
+
+    @Override
+    public int unregisterAll(Collection<?> listenerContainers) {
+        Objects.requireNonNull(listenerContainers, "listenerContainers");
+        this.expungeCollected();
+        List<Registration> released = new ArrayList<>(listenerContainers.size());
+        for (Object listenerContainer : listenerContainers) {
+            Objects.requireNonNull(listenerContainer, "listenerContainer");
+            Registration registration = this.release(listenerContainer);
+            if (registration == null)
+                registration = this.release(new WeakKey(listenerContainer, null));
+            if (registration != null)
+                released.add(registration);
+        }
+        this.retire(released);
+        return released.size();
+    }
+
+    public synchronized void shutdown() {
+        synchronized (TOPOLOGY_LOCK) {
+            for (Link link : this.links)
+                link.target.downstream.remove(this);
+            this.links.clear();
+        }
+        this.batchAccumulators.values().forEach(BatchAccumulator::flush);
+        if (this.expunger != null)
+            this.expunger.cancel(false);
+        if (this.scheduler != null)
+            this.scheduler.shutdown();
+        this.asyncDispatcher.shutdown();
+        if (this.journal != null)
+            this.journal.close();
+    }
+
+    private DispatchChain chainFor(Class<?> eventType) {
+        DispatchChain chain = this.resolvedChains.get(eventType);
+        return chain != null ? chain : this.resolve(eventType);
+    }
 
-        registeredHandlers.forEach((eventType, handlers) -> {
-            CopyOnWriteArrayList<EventHandler> bucket = this.handlersByEventType.get(eventType);
-            if (bucket == null)
+    private DispatchChain resolve(Class<?> eventType) {
+        long epoch = this.epoch.get();
+        DispatchChain chain = this.resolvedChains.computeIfAbsent(eventType, this::compile);
+        if (this.epoch.get() != epoch)
+            this.resolvedChains.remove(eventType, chain);
+        return chain;
+    }
+
+    private int registerAll(Collection<?> listenerContainers, boolean weak, Object routingKey) {
+        Objects.requireNonNull(listenerContainers, "listenerContainers");
+        this.expungeCollected();
+        List<Registration> claimed = new ArrayList<>(listenerContainers.size());
+        Map<Class<?>, List<EventHandler>> addedHandlers = new HashMap<>();
+        Map<Class<?>, Object[]> stickySnapshot;
+        try {
+            for (Object listenerContainer : listenerContainers) {
+                Registration registration = this.claim(Objects.requireNonNull(listenerContainer, "listenerContainer"), weak, routingKey);
+                if (registration == null)
+                    continue;
+
+                claimed.add(registration);
+                registration.handlers.forEach((eventType, handlers) ->
+                        addedHandlers.computeIfAbsent(eventType, key -> new ArrayList<>()).addAll(handlers));
+            }
+
+            synchronized (this.stickyLock) {
+                addedHandlers.forEach((eventType, handlers) -> {
+                    while (!this.handlersByEventType.computeIfAbsent(eventType, key -> new HandlerBucket()).addAll(handlers)) {
+                    }
+                });
+                stickySnapshot = this.snapshotSticky(addedHandlers.keySet());
+                this.publish(addedHandlers.keySet());
+            }
+        } finally {
+            for (Registration registration : claimed)
+                registration.lock.unlock();
+        }
+        this.replay(addedHandlers, stickySnapshot);
+        return claimed.size();
+    }
+
+    private Map<Class<?>, Object[]> snapshotSticky(Set<Class<?>> handlerTypes) {
+        if (this.stickyEvents.isEmpty() || handlerTypes.isEmpty())
+            return Collections.emptyMap();
+
+        Map<Class<?>, Object[]> snapshot = new HashMap<>();
+        this.stickyEvents.forEach((eventType, buffer) -> {
+            for (Class<?> handlerType : handlerTypes) {
+                if (handlerType.isAssignableFrom(eventType)) {
+                    snapshot.put(eventType, buffer.snapshot());
+                    return;
+                }
+            }
+        });
+        return snapshot;
+    }
+
+    private void replay(Map<Class<?>, List<EventHandler>> addedHandlers, Map<Class<?>, Object[]> stickySnapshot) {
+        stickySnapshot.forEach((eventType, events) -> {
+            List<EventHandler> handlers = new ArrayList<>();
+            addedHandlers.forEach((handlerType, added) -> {
+                if (handlerType.isAssignableFrom(eventType))
+                    handlers.addAll(added);
+            });
+            if (handlers.isEmpty())
                 return;
 
-            bucket.removeAll(handlers);
-            if (bucket.isEmpty())
+            handlers.sort(Comparator.naturalOrder());
+            DispatchChain chain = this.compile(eventType, handlers, false);
+            for (Object event : events)
+                chain.dispatch(event);
+        });
+    }
+
+    private Registration claim(Object listenerContainer, boolean weak, Object routingKey) {
+        if (this.isRegistered(listenerContainer))
+            return null;
+
+        WeakKey weakKey = weak ? new WeakKey(listenerContainer, this.collectedListeners) : null;
+        Map<Class<?>, Set<EventHandler>> eventHandlers = weak
+                ? this.eventHandlerScanner.locateWeak(listenerContainer, weakKey)
+                : this.eventHandlerScanner.locate(listenerContainer);
+        if (eventHandlers.isEmpty())
+            return null;
+
+        Map<Class<?>, List<EventHandler>> indexedHandlers = new HashMap<>();
+        eventHandlers.forEach((eventType, handlers) ->
+                indexedHandlers.put(eventType, this.instrument(eventType, handlers, routingKey)));
+
+        Registration registration = new Registration(indexedHandlers);
+        registration.lock.lock();
+        if (this.registrations.putIfAbsent(weak ? weakKey : listenerContainer, registration) == null)
+            return registration;
+
+        registration.lock.unlock();
+        return null;
+    }
+
+    private Registration release(Object key) {
+        Registration registration = this.registrations.get(key);
+        if (registration == null)
+            return null;
+
+        registration.lock.lock();
+        try {
+            return this.registrations.remove(key, registration) ? registration : null;
+        } finally {
+            registration.lock.unlock();
+        }
+    }
+
+    private void retire(List<Registration> released) {
+        Map<Class<?>, List<EventHandler>> removedHandlers = new HashMap<>();
+        for (Registration registration : released) {
+            registration.handlers.forEach((eventType, handlers) ->
+                    removedHandlers.computeIfAbsent(eventType, key -> new ArrayList<>()).addAll(handlers));
+        }
+        removedHandlers.values().forEach(handlers -> {
+            for (EventHandler eventHandler : handlers) {
+                if (eventHandler instanceof GuardedEventHandler)
+                    ((GuardedEventHandler) eventHandler).retire();
+            }
+        });
+
+        removedHandlers.forEach((eventType, handlers) -> {
+            HandlerBucket bucket = this.handlersByEventType.get(eventType);
+            if (bucket != null && bucket.removeAll(handlers))
                 this.handlersByEventType.remove(eventType, bucket);
         });
-        return true;
+        this.publish(removedHandlers.keySet());
+
+        removedHandlers.values().forEach(handlers -> {
+            for (EventHandler eventHandler : handlers) {
+                if (eventHandler.isAsync())
+                    this.asyncDispatcher.unbind(eventHandler);
+                BatchAccumulator accumulator = this.batchAccumulators.remove(eventHandler);
+                if (accumulator != null)
+                    accumulator.flush();
+            }
+        });
+    }
+
+    private void suspend(GuardedEventHandler eventHandler) {
+        this.detach(eventHandler);
+        try {
+            this.scheduler().schedule(() -> this.probe(eventHandler), this.circuitBreaker.getCooldownNanos(),
+                    TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException ignored) {
+        }
+    }
+
+    private void probe(GuardedEventHandler eventHandler) {
+        if (eventHandler.isRetired() || !eventHandler.halfOpen())
+            return;
+
+        List<EventHandler> handlers = Collections.singletonList(eventHandler);
+        while (!this.handlersByEventType.computeIfAbsent(eventHandler.getEventType(), key -> new HandlerBucket()).addAll(handlers)) {
+        }
+        if (eventHandler.isRetired())
+            this.detach(eventHandler);
+        else
+            this.publish(Collections.singleton(eventHandler.getEventType()));
+    }
+
+    private void detach(GuardedEventHandler eventHandler) {
+        Class<?> eventType = eventHandler.getEventType();
+        HandlerBucket bucket = this.handlersByEventType.get(eventType);
+        if (bucket != null && bucket.removeAll(Collections.singletonList(eventHandler)))
+            this.handlersByEventType.remove(eventType, bucket);
+        this.publish(Collections.singleton(eventType));
+    }
+
+    private synchronized void startExpunger() {
+        if (this.expunger != null)
+            return;
+
+        ScheduledExecutorService scheduler = this.scheduler();
+        try {
+            this.expunger = scheduler.scheduleWithFixedDelay(new Expunger(this, scheduler),
+                    EXPUNGE_INTERVAL_MILLIS, EXPUNGE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ignored) {
+        }
+    }
+
+    private void expungeCollected() {
+        List<Registration> released = null;
+        Reference<?> reference;
+        while ((reference = this.collectedListeners.poll()) != null) {
+            Registration registration = this.release(reference);
+            if (registration == null)
+                continue;
+            if (released == null)
+                released = new ArrayList<>();
+            released.add(registration);
+        }
+        if (released != null)
+            this.retire(released);
+    }
+
+    private void publish(Set<Class<?>> eventTypes) {
+        if (eventTypes.isEmpty())
+            return;
+
+        this.epoch.incrementAndGet();
+        for (Class<?> eventType : eventTypes)
+            this.invalidate(eventType);
+        for (EventManager eventManager : this.downstream)
+            eventManager.publish(eventTypes);
+    }
+
+    private void attach(Link link) {
+        synchronized (TOPOLOGY_LOCK) {
+            if (link.target == this || link.target.reaches(this))
+                throw new IllegalArgumentException("Linking these buses would create a forwarding cycle");
+            this.links.add(link);
+            link.target.downstream.add(this);
+        }
+        this.publish(Collections.singleton(Object.class));
+    }
+
+    private boolean reaches(EventManager eventManager) {
+        for (Link link : this.links) {
+            if (link.target == eventManager || link.target.reaches(eventManager))
+                return true;
+        }
+        return false;
+    }
+
+    private void invalidate(Class<?> eventType) {
+        this.resolvedChains.keySet().removeIf(eventType::isAssignableFrom);
+    }
+
+    private DispatchChain compile(Class<?> eventType) {
+        List<EventHandler> handlers = new ArrayList<>();
+        for (Class<?> type : TypeHierarchy.of(eventType)) {
+            HandlerBucket bucket = this.handlersByEventType.get(type);
+            if (bucket != null)
+                Collections.addAll(handlers, bucket.snapshot());
+        }
+        handlers.sort(Comparator.naturalOrder());
+        return this.compile(eventType, handlers, true);
+    }
+
+    private DispatchChain compile(Class<?> eventType, List<EventHandler> handlers, boolean resolved) {
+        Map<EventHandler, EventAction> actions = new IdentityHashMap<>();
+        Map<EventHandler, BatchEventAction> batchActions = new IdentityHashMap<>();
+        List<EventHandler> sharedHandlers = new ArrayList<>(handlers.size());
+        Set<Object> keys = new HashSet<>();
+        for (EventHandler eventHandler : handlers) {
+            if (eventHandler.getKey() == null)
+                sharedHandlers.add(eventHandler);
+            else
+                keys.add(eventHandler.getKey());
+        }
+
+        List<DispatchChain> forwards = new ArrayList<>(this.links.size());
+        List<AsyncDispatcher> forwardDispatchers = new ArrayList<>(this.links.size());
+        for (Link link : resolved ? this.links : Collections.<Link>emptyList()) {
+            if (link.forwards(eventType, !handlers.isEmpty())) {
+                forwards.add(link.target.chainFor(eventType));
+                forwardDispatchers.add(link.target.asyncDispatcher);
+            }
+        }
+
+        Map<Object, DispatchChain> routes = new HashMap<>();
+        if (IKeyed.class.isAssignableFrom(eventType)) {
+            for (Object key : keys) {
+                List<EventHandler> routedHandlers = new ArrayList<>();
+                for (EventHandler eventHandler : handlers) {
+                    if (eventHandler.getKey() == null || key.equals(eventHandler.getKey()))
+                        routedHandlers.add(eventHandler);
+                }
+                routes.put(key, this.link(eventType, routedHandlers, actions, batchActions, null, null,
+                        Collections.emptyList(), Collections.emptyList()));
+            }
+        }
+        return this.link(eventType, sharedHandlers, actions, batchActions,
+                resolved && this.metrics != null ? this.metrics.eventType(eventType) : null, routes, forwards,
+                forwardDispatchers);
+    }
+
+    private DispatchChain link(Class<?> eventType, List<EventHandler> handlers, Map<EventHandler, EventAction> actions,
+                               Map<EventHandler, BatchEventAction> batchActions, EventTypeRecorder postRecorder,
+                               Map<Object, DispatchChain> routes, List<DispatchChain> forwards,
+                               List<AsyncDispatcher> forwardDispatchers) {
+        EventHandler[] sortedHandlers = handlers.toArray(new EventHandler[0]);
+        EventAction[] linkedActions = new EventAction[sortedHandlers.length];
+        BatchEventAction[] linkedBatchActions = new BatchEventAction[sortedHandlers.length];
+        for (int i = 0; i < sortedHandlers.length; i++) {
+            EventHandler eventHandler = sortedHandlers[i];
+            linkedActions[i] = actions.computeIfAbsent(eventHandler, this::bind);
+            if (eventHandler.isAsync())
+                linkedBatchActions[i] = batchActions.computeIfAbsent(eventHandler, this.asyncDispatcher::bindBatch);
+        }
+        return new DispatchChain(sortedHandlers, linkedActions, linkedBatchActions,
+                ICancellable.class.isAssignableFrom(eventType), postRecorder, this.exceptionHandler, routes,
+                forwards.toArray(new DispatchChain[0]), forwardDispatchers.toArray(new AsyncDispatcher[0]));
+    }
+
+    private List<EventHandler> instrument(Class<?> eventType, Set<EventHandler> handlers, Object routingKey) {
+        boolean guarded = this.circuitBreaker != null || this.exceptionHandler != ExceptionHandler.PRINT_STACK_TRACE;
+        List<EventHandler> instrumented = new ArrayList<>(handlers.size());
+        for (EventHandler eventHandler : handlers) {
+            if (eventHandler instanceof BatchEventHandler) {
+                EventAction batchAction = ((BatchEventHandler) eventHandler).getBatchAction();
+                if (this.metrics != null)
+                    batchAction = InstrumentedEventHandler.record(batchAction, this.metrics.handler(eventHandler));
+                if (routingKey != null)
+                    eventHandler = new KeyedEventHandler(eventHandler, routingKey);
+                instrumented.add(new GuardedEventHandler(eventHandler, batchAction, eventType, this.exceptionHandler,
+                        this.circuitBreaker, this::suspend));
+                continue;
+            }
+            if (routingKey != null)
+                eventHandler = new KeyedEventHandler(eventHandler, routingKey);
+            if (this.metrics != null)
+                eventHandler = new InstrumentedEventHandler(eventHandler, this.metrics.handler(eventHandler));
+            if (guarded)
+                eventHandler = new GuardedEventHandler(eventHandler, eventType, this.exceptionHandler,
+                        this.circuitBreaker, this::suspend);
+            instrumented.add(eventHandler);
+        }
+        return instrumented;
+    }
+
+    private EventAction bind(EventHandler eventHandler) {
+        EventHandler delegate = eventHandler instanceof GuardedEventHandler
+                ? ((GuardedEventHandler) eventHandler).getDelegate() : eventHandler;
+        if (delegate instanceof KeyedEventHandler)
+            delegate = ((KeyedEventHandler) delegate).getDelegate();
+        if (delegate instanceof BatchEventHandler) {
+            BatchEventHandler batchEventHandler = (BatchEventHandler) delegate;
+            BatchAccumulator accumulator = this.batchAccumulators.computeIfAbsent(eventHandler,
+                    key -> new BatchAccumulator(batchEventHandler, key, this.scheduler()));
+            return accumulator::add;
+        }
+        if (!eventHandler.isAsync())
+            return eventHandler.getAdmittedAction();
+
+        return this.asyncDispatcher.bind(eventHandler);
+    }
+
+    private ScheduledExecutorService scheduler() {
+        ScheduledExecutorService scheduler = this.scheduler;
+        return scheduler != null ? scheduler : this.createScheduler();
+    }
+
+    private synchronized ScheduledExecutorService createScheduler() {
+        if (this.scheduler == null) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "freesia-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return this.scheduler;
+    }
+
+    private static final class Expunger implements Runnable {
+        private final WeakReference<EventManager> eventManager;
+        private final ScheduledExecutorService scheduler;
+
+        private Expunger(EventManager eventManager, ScheduledExecutorService scheduler) {
+            this.eventManager = new WeakReference<>(eventManager);
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public void run() {
+            EventManager eventManager = this.eventManager.get();
+            if (eventManager == null)
+                this.scheduler.shutdown();
+            else
+                eventManager.expungeCollected();
+        }
+    }
+
+    private static final class WeakKey extends WeakReference<Object> {
+        private final int hash;
+
+        private WeakKey(Object referent, ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other)
+                return true;
+            if (!(other instanceof WeakKey))
+                return false;
+            Object referent = this.get();
+            return referent != null && referent == ((WeakKey) other).get();
+        }
+    }
+
+    private static final class Link {
+        private final EventManager target;
+        private final Class<?>[] eventTypes;
+        private final boolean unmatched;
+
+        private Link(EventManager target, Class<?>[] eventTypes, boolean unmatched) {
+            this.target = target;
+            this.eventTypes = eventTypes;
+            this.unmatched = unmatched;
+        }
+
+        private boolean forwards(Class<?> eventType, boolean matched) {
+            if (this.unmatched && !matched)
+                return true;
+            for (Class<?> forwardedType : this.eventTypes) {
+                if (forwardedType.isAssignableFrom(eventType))
+                    return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class Registration {
+        private final Map<Class<?>, List<EventHandler>> handlers;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private Registration(Map<Class<?>, List<EventHandler>> handlers) {
+            this.handlers = handlers;
+        }
+    }
+
+    public static final class Builder {
+        private Supplier<AsyncDispatcher> asyncDispatcherFactory;
+        private EventMetrics metrics;
+        private ExceptionHandler exceptionHandler = ExceptionHandler.PRINT_STACK_TRACE;
+        private CircuitBreakerPolicy circuitBreaker;
+        private EventManager parent;
+        private Class<?>[] parentTypes;
+        private int stickyRetention = 1;
+        private final Map<Class<?>, Integer> stickyRetentionByType = new HashMap<>();
+        private EventJournal journal;
+
+        private Builder() {
+        }
+
+        public Builder executorService(ExecutorService executorService) {
+            Objects.requireNonNull(executorService, "executorService");
+            this.asyncDispatcherFactory = () -> new ExecutorAsyncDispatcher(executorService);
+            return this;
+        }
+
+        public Builder virtualThreads() {
+            this.asyncDispatcherFactory = VirtualThreadAsyncDispatcher::new;
+            return this;
+        }
+
+        public Builder virtualThreads(int maxConcurrencyPerListener) {
+            if (maxConcurrencyPerListener <= 0)
+                throw new IllegalArgumentException("maxConcurrencyPerListener must be positive: " + maxConcurrencyPerListener);
+            this.asyncDispatcherFactory = () -> new VirtualThreadAsyncDispatcher(maxConcurrencyPerListener);
+            return this;
+        }
+
+        public Builder conflating() {
+            this.asyncDispatcherFactory = () -> new ConflatingAsyncDispatcher(Executors.newCachedThreadPool());
+            return this;
+        }
+
+        public Builder partitioned(int partitions) {
+            if (partitions <= 0)
+                throw new IllegalArgumentException("partitions must be positive: " + partitions);
+            this.asyncDispatcherFactory = () -> new PartitionedAsyncDispatcher(partitions);
+            return this;
+        }
+
+        public Builder asyncDispatcher(AsyncDispatcher asyncDispatcher) {
+            Objects.requireNonNull(asyncDispatcher, "asyncDispatcher");
+            this.asyncDispatcherFactory = () -> asyncDispatcher;
+            return this;
+        }
+
+        public Builder metrics(EventMetrics metrics) {
+            this.metrics = Objects.requireNonNull(metrics, "metrics");
+            return this;
+        }
+
+        public Builder exceptionHandler(ExceptionHandler exceptionHandler) {
+            this.exceptionHandler = Objects.requireNonNull(exceptionHandler, "exceptionHandler");
+            return this;
+        }
+
+        public Builder circuitBreaker(int failureThreshold, long window, long cooldown, TimeUnit unit) {
+            Objects.requireNonNull(unit, "unit");
+            this.circuitBreaker = new CircuitBreakerPolicy(failureThreshold, window, cooldown, unit);
+            return this;
+        }
+
+        public Builder parent(EventManager parent, Class<?>... forwardedTypes) {
+            this.parent = Objects.requireNonNull(parent, "parent");
+            this.parentTypes = forwardedTypes.clone();
+            return this;
+        }
+
+        public Builder stickyRetention(int retained) {
+            if (retained <= 0)
+                throw new IllegalArgumentException("retained must be positive: " + retained);
+            this.stickyRetention = retained;
+            return this;
+        }
+
+        public Builder stickyRetention(Class<?> eventType, int retained) {
+            Objects.requireNonNull(eventType, "eventType");
+            if (retained <= 0)
+                throw new IllegalArgumentException("retained must be positive: " + retained);
+            this.stickyRetentionByType.put(eventType, retained);
+            return this;
+        }
+
+        public Builder journal(EventJournal journal) {
+            this.journal = Objects.requireNonNull(journal, "journal");
+            return this;
+        }
+
+        public EventManager build() {
+            return new EventManager(this);
+        }
     }
-}
\ No newline at end of file
+}
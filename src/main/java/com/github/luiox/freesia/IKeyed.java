@@ -0,0 +1,5 @@
+package com.github.luiox.freesia;
+
+public interface IKeyed {
+    Object getKey();
+}
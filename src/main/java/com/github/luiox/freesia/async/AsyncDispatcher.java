@@ -0,0 +1,25 @@
+package com.github.luiox.freesia.async;
+
+import com.github.luiox.freesia.handler.BatchEventAction;
+import com.github.luiox.freesia.handler.EventAction;
+import com.github.luiox.freesia.handler.EventHandler;
+
+public interface AsyncDispatcher {
+    EventAction bind(EventHandler eventHandler);
+
+    default BatchEventAction bindBatch(EventHandler eventHandler) {
+        EventAction action = this.bind(eventHandler);
+        return (events, from, to) -> {
+            for (int i = from; i < to; i++)
+                action.invoke(events[i]);
+        };
+    }
+
+    void execute(EventHandler eventHandler, Object event, Runnable task);
+
+    default void unbind(EventHandler eventHandler) {
+    }
+
+    default void shutdown() {
+    }
+}
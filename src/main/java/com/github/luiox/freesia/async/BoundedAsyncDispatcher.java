@@ -0,0 +1,307 @@
+package com.github.luiox.freesia.async;
+
+import com.github.luiox.freesia.IKeyed;
+import com.github.luiox.freesia.handler.EventAction;
+import com.github.luiox.freesia.handler.EventHandler;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public final class BoundedAsyncDispatcher implements AsyncDispatcher {
+    private final ExecutorService executorService;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final Map<EventHandler, HandlerQueue> queues = new ConcurrentHashMap<>();
+    private final ThreadLocal<Boolean> draining = new ThreadLocal<>();
+    private volatile boolean shutdown;
+
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder blockedCount = new LongAdder();
+    private final LongAdder callerRunsCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+
+    public BoundedAsyncDispatcher(ExecutorService executorService, int capacity, OverflowPolicy overflowPolicy) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        this.executorService = Objects.requireNonNull(executorService, "executorService");
+        this.capacity = capacity;
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy");
+    }
+
+    @Override
+    public EventAction bind(EventHandler eventHandler) {
+        HandlerQueue queue = this.queues.computeIfAbsent(eventHandler, HandlerQueue::new);
+        return queue::offer;
+    }
+
+    @Override
+    public void execute(EventHandler eventHandler, Object event, Runnable task) {
+        this.queues.computeIfAbsent(eventHandler, HandlerQueue::new).execute(task);
+    }
+
+    @Override
+    public void unbind(EventHandler eventHandler) {
+        this.queues.remove(eventHandler);
+    }
+
+    @Override
+    public void shutdown() {
+        this.shutdown = true;
+        this.executorService.shutdown();
+        for (HandlerQueue queue : this.queues.values())
+            queue.wakeUp();
+    }
+
+    public long getDroppedCount() {
+        return this.droppedCount.sum();
+    }
+
+    public long getBlockedCount() {
+        return this.blockedCount.sum();
+    }
+
+    public long getCallerRunsCount() {
+        return this.callerRunsCount.sum();
+    }
+
+    public long getCoalescedCount() {
+        return this.coalescedCount.sum();
+    }
+
+    private static Object keyOf(Object event) {
+        return event instanceof IKeyed ? ((IKeyed) event).getKey() : event.getClass();
+    }
+
+    private static final class Pending {
+        private final Object key;
+        private Object event;
+
+        private Pending(Object key, Object event) {
+            this.key = key;
+            this.event = event;
+        }
+    }
+
+    private final class HandlerQueue implements Runnable {
+        private final EventHandler eventHandler;
+        private final ArrayDeque<Object> pending = new ArrayDeque<>();
+        private final Map<Object, Pending> pendingByKey = new HashMap<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notFull = this.lock.newCondition();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private int events;
+
+        private HandlerQueue(EventHandler eventHandler) {
+            this.eventHandler = eventHandler;
+        }
+
+        private void offer(Object event) {
+            OverflowPolicy policy = BoundedAsyncDispatcher.this.overflowPolicy;
+            this.lock.lock();
+            try {
+                if (policy == OverflowPolicy.COALESCE && this.coalesce(event))
+                    return;
+
+                if (this.events >= BoundedAsyncDispatcher.this.capacity) {
+                    switch (policy) {
+                        case BLOCK:
+                            this.awaitSpace();
+                            break;
+                        case DROP_NEWEST:
+                            BoundedAsyncDispatcher.this.droppedCount.increment();
+                            return;
+                        case DROP_OLDEST:
+                        case COALESCE:
+                            BoundedAsyncDispatcher.this.droppedCount.increment();
+                            if (!this.evictOldest())
+                                return;
+                            break;
+                        case CALLER_RUNS:
+                        default:
+                            break;
+                    }
+                }
+
+                if (this.events < BoundedAsyncDispatcher.this.capacity) {
+                    this.enqueue(policy, event);
+                    event = null;
+                }
+            } finally {
+                this.lock.unlock();
+            }
+
+            if (event != null) {
+                BoundedAsyncDispatcher.this.callerRunsCount.increment();
+                this.eventHandler.handle(event);
+                return;
+            }
+            this.schedule();
+        }
+
+        private void execute(Runnable task) {
+            OverflowPolicy policy = BoundedAsyncDispatcher.this.overflowPolicy;
+            this.lock.lock();
+            try {
+                if (this.events >= BoundedAsyncDispatcher.this.capacity) {
+                    switch (policy) {
+                        case BLOCK:
+                            this.awaitSpace();
+                            break;
+                        case CALLER_RUNS:
+                            break;
+                        default:
+                            BoundedAsyncDispatcher.this.droppedCount.increment();
+                            throw new RejectedExecutionException("Queue for " + this.eventHandler + " is full");
+                    }
+                }
+
+                if (this.events < BoundedAsyncDispatcher.this.capacity) {
+                    this.events++;
+                    this.pending.add(new QueuedTask(task));
+                    task = null;
+                }
+            } finally {
+                this.lock.unlock();
+            }
+
+            if (task != null) {
+                BoundedAsyncDispatcher.this.callerRunsCount.increment();
+                task.run();
+                return;
+            }
+            this.schedule();
+        }
+
+        private void awaitSpace() {
+            if (BoundedAsyncDispatcher.this.draining.get() != null)
+                return;
+
+            BoundedAsyncDispatcher.this.blockedCount.increment();
+            while (this.events >= BoundedAsyncDispatcher.this.capacity) {
+                if (BoundedAsyncDispatcher.this.shutdown)
+                    throw new RejectedExecutionException("Dispatcher has been shut down");
+                this.notFull.awaitUninterruptibly();
+            }
+        }
+
+        private boolean coalesce(Object event) {
+            Pending existing = this.pendingByKey.get(keyOf(event));
+            if (existing == null)
+                return false;
+
+            existing.event = event;
+            BoundedAsyncDispatcher.this.coalescedCount.increment();
+            return true;
+        }
+
+        private void enqueue(OverflowPolicy policy, Object event) {
+            this.events++;
+            if (policy != OverflowPolicy.COALESCE) {
+                this.pending.add(event);
+                return;
+            }
+
+            Pending entry = new Pending(keyOf(event), event);
+            this.pendingByKey.put(entry.key, entry);
+            this.pending.add(entry);
+        }
+
+        private boolean evictOldest() {
+            for (Iterator<Object> iterator = this.pending.iterator(); iterator.hasNext(); ) {
+                Object item = iterator.next();
+                if (item instanceof QueuedTask)
+                    continue;
+
+                iterator.remove();
+                this.release(item);
+                return true;
+            }
+            return false;
+        }
+
+        private Object poll() {
+            Object head = this.pending.poll();
+            return head == null ? null : this.release(head);
+        }
+
+        private Object release(Object item) {
+            this.events--;
+            this.notFull.signal();
+            if (item instanceof QueuedTask || BoundedAsyncDispatcher.this.overflowPolicy != OverflowPolicy.COALESCE)
+                return item;
+
+            Pending entry = (Pending) item;
+            this.pendingByKey.remove(entry.key);
+            return entry.event;
+        }
+
+        private Object take() {
+            this.lock.lock();
+            try {
+                return this.poll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        private void wakeUp() {
+            this.lock.lock();
+            try {
+                this.notFull.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        private boolean isEmpty() {
+            this.lock.lock();
+            try {
+                return this.pending.isEmpty();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        private void schedule() {
+            if (!this.scheduled.compareAndSet(false, true))
+                return;
+
+            try {
+                BoundedAsyncDispatcher.this.executorService.execute(this);
+            } catch (RejectedExecutionException exception) {
+                this.scheduled.set(false);
+                throw exception;
+            }
+        }
+
+        @Override
+        public void run() {
+            boolean nested = BoundedAsyncDispatcher.this.draining.get() != null;
+            BoundedAsyncDispatcher.this.draining.set(Boolean.TRUE);
+            try {
+                for (; ; ) {
+                    Object event;
+                    while ((event = this.take()) != null)
+                        QueuedTask.deliver(this.eventHandler, event);
+
+                    this.scheduled.set(false);
+                    if (this.isEmpty() || !this.scheduled.compareAndSet(false, true))
+                        return;
+                }
+            } finally {
+                if (!nested)
+                    BoundedAsyncDispatcher.this.draining.remove();
+            }
+        }
+    }
+}
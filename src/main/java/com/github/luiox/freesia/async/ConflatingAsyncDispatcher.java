@@ -0,0 +1,142 @@
+package com.github.luiox.freesia.async;
+
+import com.github.luiox.freesia.IKeyed;
+import com.github.luiox.freesia.handler.EventAction;
+import com.github.luiox.freesia.handler.EventHandler;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+public final class ConflatingAsyncDispatcher implements AsyncDispatcher {
+    private static final Object NULL_KEY = new Object();
+
+    private final ExecutorService executorService;
+    private final Function<Object, ?> keyExtractor;
+    private final Map<EventHandler, Conflator> conflators = new ConcurrentHashMap<>();
+
+    private final LongAdder deliveredCount = new LongAdder();
+    private final LongAdder conflatedCount = new LongAdder();
+
+    public ConflatingAsyncDispatcher(ExecutorService executorService) {
+        this(executorService, ConflatingAsyncDispatcher::keyOf);
+    }
+
+    public ConflatingAsyncDispatcher(ExecutorService executorService, Function<Object, ?> keyExtractor) {
+        this.executorService = Objects.requireNonNull(executorService, "executorService");
+        this.keyExtractor = Objects.requireNonNull(keyExtractor, "keyExtractor");
+    }
+
+    @Override
+    public EventAction bind(EventHandler eventHandler) {
+        Conflator conflator = this.conflators.computeIfAbsent(eventHandler, Conflator::new);
+        return conflator::offer;
+    }
+
+    @Override
+    public void execute(EventHandler eventHandler, Object event, Runnable task) {
+        this.conflators.computeIfAbsent(eventHandler, Conflator::new).execute(task);
+    }
+
+    @Override
+    public void unbind(EventHandler eventHandler) {
+        this.conflators.remove(eventHandler);
+    }
+
+    @Override
+    public void shutdown() {
+        this.executorService.shutdown();
+    }
+
+    public long getDeliveredCount() {
+        return this.deliveredCount.sum();
+    }
+
+    public long getConflatedCount() {
+        return this.conflatedCount.sum();
+    }
+
+    public int getPendingKeyCount() {
+        int pending = 0;
+        for (Conflator conflator : this.conflators.values())
+            pending += conflator.slots.size();
+        return pending;
+    }
+
+    private static Object keyOf(Object event) {
+        return event instanceof IKeyed ? ((IKeyed) event).getKey() : event.getClass();
+    }
+
+    private final class Conflator implements Runnable {
+        private final EventHandler eventHandler;
+        private final Map<Object, Slot> slots = new ConcurrentHashMap<>();
+        private final Queue<Slot> ready = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Conflator(EventHandler eventHandler) {
+            this.eventHandler = eventHandler;
+        }
+
+        private void offer(Object event) {
+            Object key = keyExtractor.apply(event);
+            if (key == null)
+                key = NULL_KEY;
+            Slot slot = this.slots.get(key);
+            if (slot == null)
+                slot = this.slots.computeIfAbsent(key, Slot::new);
+
+            if (slot.getAndSet(event) != null) {
+                conflatedCount.increment();
+                return;
+            }
+            this.ready.offer(slot);
+            this.schedule();
+        }
+
+        private void execute(Runnable task) {
+            Slot slot = new Slot(null);
+            slot.set(new QueuedTask(task));
+            this.ready.offer(slot);
+            this.schedule();
+        }
+
+        private void schedule() {
+            if (this.scheduled.compareAndSet(false, true))
+                executorService.execute(this);
+        }
+
+        @Override
+        public void run() {
+            do {
+                Slot slot;
+                while ((slot = this.ready.poll()) != null) {
+                    Object event = slot.getAndSet(null);
+                    if (event == null)
+                        continue;
+                    if (slot.key != null)
+                        this.slots.remove(slot.key, slot);
+                    deliveredCount.increment();
+                    QueuedTask.deliver(this.eventHandler, event);
+                }
+                this.scheduled.set(false);
+            } while (!this.ready.isEmpty() && this.scheduled.compareAndSet(false, true));
+        }
+    }
+
+    private static final class Slot extends AtomicReference<Object> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Object key;
+
+        private Slot(Object key) {
+            this.key = key;
+        }
+    }
+}
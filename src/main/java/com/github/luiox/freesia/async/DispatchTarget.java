@@ -0,0 +1,112 @@
+package com.github.luiox.freesia.async;
+
+import com.github.luiox.freesia.handler.EventHandler;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+public final class DispatchTarget {
+    private final String name;
+    private final RingBuffer<Slot> ringBuffer;
+    private final Consumer<Slot> deliver = DispatchTarget::deliver;
+    private final AtomicReference<Thread> owner = new AtomicReference<>();
+    private volatile boolean running = true;
+    private boolean draining;
+
+    DispatchTarget(String name, int capacity) {
+        this.name = name;
+        this.ringBuffer = new RingBuffer<>(capacity, Slot::new);
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public int capacity() {
+        return this.ringBuffer.capacity();
+    }
+
+    public boolean isEmpty() {
+        return this.ringBuffer.isEmpty();
+    }
+
+    public int drain() {
+        return this.drain(this.ringBuffer.capacity());
+    }
+
+    public int drain(int limit) {
+        Thread current = Thread.currentThread();
+        Thread owner = this.owner.get();
+        if (owner != current && (owner != null || !this.owner.compareAndSet(null, current)))
+            throw new IllegalStateException("Dispatch target " + this.name + " is drained by "
+                    + this.owner.get().getName());
+        if (this.draining)
+            return 0;
+
+        this.draining = true;
+        try {
+            return this.ringBuffer.poll(this.deliver, limit);
+        } finally {
+            this.draining = false;
+        }
+    }
+
+    void publish(EventHandler eventHandler, Object event) {
+        this.publish(eventHandler, event, null);
+    }
+
+    void execute(Runnable task) {
+        this.publish(null, null, task);
+    }
+
+    void stop() {
+        this.running = false;
+    }
+
+    private void publish(EventHandler eventHandler, Object event, Runnable task) {
+        if (!this.running)
+            throw new RejectedExecutionException("Dispatch target " + this.name + " has been shut down");
+
+        long sequence;
+        if (Thread.currentThread() == this.owner.get()) {
+            while ((sequence = this.ringBuffer.tryNext()) < 0L) {
+                if (this.draining) {
+                    if (task != null)
+                        task.run();
+                    else
+                        eventHandler.handle(event);
+                    return;
+                }
+                this.drain();
+            }
+        } else {
+            sequence = this.ringBuffer.next();
+        }
+
+        Slot slot = this.ringBuffer.get(sequence);
+        slot.handler = eventHandler;
+        slot.event = event;
+        slot.task = task;
+        this.ringBuffer.publish(sequence);
+    }
+
+    private static void deliver(Slot slot) {
+        EventHandler eventHandler = slot.handler;
+        Object event = slot.event;
+        Runnable task = slot.task;
+        slot.handler = null;
+        slot.event = null;
+        slot.task = null;
+        if (task != null)
+            task.run();
+        else
+            eventHandler.handle(event);
+    }
+
+    private static final class Slot {
+        private EventHandler handler;
+        private Object event;
+        private Runnable task;
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.luiox.freesia.async;
+
+import com.github.luiox.freesia.handler.BatchEventAction;
+import com.github.luiox.freesia.handler.EventAction;
+import com.github.luiox.freesia.handler.EventHandler;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+
+public final class ExecutorAsyncDispatcher implements AsyncDispatcher {
+    private final ExecutorService executorService;
+
+    public ExecutorAsyncDispatcher(ExecutorService executorService) {
+        this.executorService = Objects.requireNonNull(executorService, "executorService");
+    }
+
+    @Override
+    public EventAction bind(EventHandler eventHandler) {
+        return event -> this.executorService.execute(() -> eventHandler.handle(event));
+    }
+
+    @Override
+    public BatchEventAction bindBatch(EventHandler eventHandler) {
+        return (events, from, to) -> {
+            Object[] batch = Arrays.copyOfRange(events, from, to);
+            this.executorService.execute(() -> {
+                for (Object event : batch)
+                    eventHandler.handle(event);
+            });
+        };
+    }
+
+    @Override
+    public void execute(EventHandler eventHandler, Object event, Runnable task) {
+        this.executorService.execute(task);
+    }
+
+    @Override
+    public void shutdown() {
+        this.executorService.shutdown();
+    }
+}
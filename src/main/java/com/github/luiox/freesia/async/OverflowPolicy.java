@@ -0,0 +1,9 @@
+package com.github.luiox.freesia.async;
+
+public enum OverflowPolicy {
+    BLOCK,
+    DROP_NEWEST,
+    DROP_OLDEST,
+    CALLER_RUNS,
+    COALESCE
+}
@@ -0,0 +1,72 @@
+package com.github.luiox.freesia.async;
+
+import com.github.luiox.freesia.IKeyed;
+import com.github.luiox.freesia.handler.EventAction;
+import com.github.luiox.freesia.handler.EventHandler;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+public final class PartitionedAsyncDispatcher implements AsyncDispatcher {
+    private final RingLane[] lanes;
+    private final Function<Object, ?> keyExtractor;
+
+    public PartitionedAsyncDispatcher(int partitions) {
+        this(partitions, PartitionedAsyncDispatcher::keyOf);
+    }
+
+    public PartitionedAsyncDispatcher(int partitions, Function<Object, ?> keyExtractor) {
+        this(partitions, keyExtractor, RingBufferAsyncDispatcher.DEFAULT_BUFFER_SIZE, WaitStrategy.parking(50_000L));
+    }
+
+    public PartitionedAsyncDispatcher(int partitions, Function<Object, ?> keyExtractor, int bufferSize,
+                                      WaitStrategy waitStrategy) {
+        if (partitions <= 0)
+            throw new IllegalArgumentException("partitions must be positive: " + partitions);
+
+        this.keyExtractor = Objects.requireNonNull(keyExtractor, "keyExtractor");
+        Objects.requireNonNull(waitStrategy, "waitStrategy");
+        this.lanes = new RingLane[partitions];
+        for (int i = 0; i < partitions; i++)
+            this.lanes[i] = new RingLane(bufferSize, waitStrategy, RingBufferAsyncDispatcher.DEFAULT_BATCH_SIZE,
+                    "freesia-partition-" + i);
+        for (RingLane lane : this.lanes)
+            lane.start();
+    }
+
+    @Override
+    public EventAction bind(EventHandler eventHandler) {
+        RingLane[] lanes = this.lanes;
+        int handlerPartition = this.partitionOf(System.identityHashCode(eventHandler));
+        return event -> lanes[this.partitionOf(event, handlerPartition)].publish(eventHandler, event);
+    }
+
+    @Override
+    public void execute(EventHandler eventHandler, Object event, Runnable task) {
+        int handlerPartition = this.partitionOf(System.identityHashCode(eventHandler));
+        this.lanes[this.partitionOf(event, handlerPartition)].execute(task);
+    }
+
+    public int getPartitions() {
+        return this.lanes.length;
+    }
+
+    @Override
+    public void shutdown() {
+        for (RingLane lane : this.lanes)
+            lane.stop();
+    }
+
+    private int partitionOf(Object event, int handlerPartition) {
+        Object key = this.keyExtractor.apply(event);
+        return key == null ? handlerPartition : this.partitionOf(key.hashCode());
+    }
+
+    private int partitionOf(int hash) {
+        return Math.floorMod(hash ^ (hash >>> 16), this.lanes.length);
+    }
+
+    private static Object keyOf(Object event) {
+        return event instanceof IKeyed ? ((IKeyed) event).getKey() : null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.github.luiox.freesia.async;
+
+import com.github.luiox.freesia.handler.EventHandler;
+
+final class QueuedTask {
+    private final Runnable task;
+
+    QueuedTask(Runnable task) {
+        this.task = task;
+    }
+
+    static void deliver(EventHandler eventHandler, Object item) {
+        if (item instanceof QueuedTask)
+            ((QueuedTask) item).task.run();
+        else
+            eventHandler.handle(item);
+    }
+}
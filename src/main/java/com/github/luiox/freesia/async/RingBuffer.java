@@ -0,0 +1,93 @@
+package com.github.luiox.freesia.async;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public final class RingBuffer<T> {
+    private final Object[] entries;
+    private final int mask;
+    private final int indexShift;
+    private final AtomicIntegerArray publishedRounds;
+    private final Sequence cursor = new Sequence(-1L);
+    private final Sequence consumed = new Sequence(-1L);
+
+    public RingBuffer(int capacity, Supplier<? extends T> entryFactory) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1)
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+
+        this.entries = new Object[capacity];
+        for (int i = 0; i < capacity; i++)
+            this.entries[i] = entryFactory.get();
+        this.mask = capacity - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(capacity);
+        this.publishedRounds = new AtomicIntegerArray(capacity);
+        for (int i = 0; i < capacity; i++)
+            this.publishedRounds.set(i, -1);
+    }
+
+    public int capacity() {
+        return this.entries.length;
+    }
+
+    public long next() {
+        for (; ; ) {
+            long current = this.cursor.get();
+            long next = current + 1;
+            if (next - this.entries.length > this.consumed.get()) {
+                LockSupport.parkNanos(1L);
+                continue;
+            }
+            if (this.cursor.compareAndSet(current, next))
+                return next;
+        }
+    }
+
+    public long tryNext() {
+        for (; ; ) {
+            long current = this.cursor.get();
+            long next = current + 1;
+            if (next - this.entries.length > this.consumed.get())
+                return -1L;
+            if (this.cursor.compareAndSet(current, next))
+                return next;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(long sequence) {
+        return (T) this.entries[(int) sequence & this.mask];
+    }
+
+    public void publish(long sequence) {
+        this.publishedRounds.lazySet((int) sequence & this.mask, (int) (sequence >>> this.indexShift));
+    }
+
+    public int poll(Consumer<? super T> consumer, int limit) {
+        long first = this.consumed.get() + 1;
+        long last = Math.min(this.cursor.get(), first + limit - 1);
+        long available = first - 1;
+        while (available < last && this.isPublished(available + 1))
+            available++;
+        if (available < first)
+            return 0;
+
+        long sequence = first;
+        try {
+            for (; sequence <= available; sequence++)
+                consumer.accept(this.get(sequence));
+        } finally {
+            this.consumed.setOrdered(Math.min(sequence, available));
+        }
+        return (int) (available - first + 1);
+    }
+
+    public boolean isEmpty() {
+        return this.consumed.get() >= this.cursor.get();
+    }
+
+    private boolean isPublished(long sequence) {
+        return this.publishedRounds.get((int) sequence & this.mask) == (int) (sequence >>> this.indexShift);
+    }
+}
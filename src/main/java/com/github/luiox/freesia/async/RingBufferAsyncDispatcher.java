@@ -0,0 +1,56 @@
+package com.github.luiox.freesia.async;
+
+import com.github.luiox.freesia.handler.EventAction;
+import com.github.luiox.freesia.handler.EventHandler;
+
+import java.util.Objects;
+
+public final class RingBufferAsyncDispatcher implements AsyncDispatcher {
+    public static final int DEFAULT_BUFFER_SIZE = 1024;
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private final RingLane[] lanes;
+
+    public RingBufferAsyncDispatcher() {
+        this(DEFAULT_BUFFER_SIZE, 1, WaitStrategy.parking(50_000L));
+    }
+
+    public RingBufferAsyncDispatcher(int bufferSize, int laneCount, WaitStrategy waitStrategy) {
+        this(bufferSize, laneCount, waitStrategy, DEFAULT_BATCH_SIZE);
+    }
+
+    public RingBufferAsyncDispatcher(int bufferSize, int laneCount, WaitStrategy waitStrategy, int batchSize) {
+        if (laneCount <= 0)
+            throw new IllegalArgumentException("laneCount must be positive: " + laneCount);
+        if (batchSize <= 0)
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+
+        Objects.requireNonNull(waitStrategy, "waitStrategy");
+        this.lanes = new RingLane[laneCount];
+        for (int i = 0; i < laneCount; i++)
+            this.lanes[i] = new RingLane(bufferSize, waitStrategy, batchSize, "freesia-ring-" + i);
+        for (RingLane lane : this.lanes)
+            lane.start();
+    }
+
+    @Override
+    public EventAction bind(EventHandler eventHandler) {
+        RingLane lane = this.laneOf(eventHandler);
+        return event -> lane.publish(eventHandler, event);
+    }
+
+    @Override
+    public void execute(EventHandler eventHandler, Object event, Runnable task) {
+        this.laneOf(eventHandler).execute(task);
+    }
+
+    @Override
+    public void shutdown() {
+        for (RingLane lane : this.lanes)
+            lane.stop();
+    }
+
+    private RingLane laneOf(EventHandler eventHandler) {
+        return this.lanes[Math.floorMod(System.identityHashCode(eventHandler), this.lanes.length)];
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.luiox.freesia.async;
+
+import com.github.luiox.freesia.handler.EventHandler;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+final class RingLane implements Runnable {
+    private final RingBuffer<Slot> ringBuffer;
+    private final Consumer<Slot> deliver = this::deliver;
+    private final WaitStrategy waitStrategy;
+    private final int batchSize;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    RingLane(int bufferSize, WaitStrategy waitStrategy, int batchSize, String name) {
+        this.ringBuffer = new RingBuffer<>(bufferSize, Slot::new);
+        this.waitStrategy = waitStrategy;
+        this.batchSize = batchSize;
+        this.thread = new Thread(this, name);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        this.thread.start();
+    }
+
+    void stop() {
+        this.running = false;
+    }
+
+    void publish(EventHandler eventHandler, Object event) {
+        this.publish(eventHandler, event, null);
+    }
+
+    void execute(Runnable task) {
+        this.publish(null, null, task);
+    }
+
+    private void publish(EventHandler eventHandler, Object event, Runnable task) {
+        if (!this.running)
+            throw new RejectedExecutionException("Ring lane " + this.thread.getName() + " has been shut down");
+
+        long sequence = this.ringBuffer.next();
+        Slot slot = this.ringBuffer.get(sequence);
+        slot.handler = eventHandler;
+        slot.event = event;
+        slot.task = task;
+        this.ringBuffer.publish(sequence);
+    }
+
+    private void deliver(Slot slot) {
+        EventHandler eventHandler = slot.handler;
+        Object event = slot.event;
+        Runnable task = slot.task;
+        slot.handler = null;
+        slot.event = null;
+        slot.task = null;
+        if (task != null)
+            task.run();
+        else
+            eventHandler.handle(event);
+    }
+
+    @Override
+    public void run() {
+        int idleCount = 0;
+        while (this.running || !this.ringBuffer.isEmpty()) {
+            if (this.ringBuffer.poll(this.deliver, this.batchSize) > 0) {
+                idleCount = 0;
+            } else {
+                this.waitStrategy.idle(idleCount);
+                if (idleCount < Integer.MAX_VALUE)
+                    idleCount++;
+            }
+        }
+    }
+
+    private static final class Slot {
+        private EventHandler handler;
+        private Object event;
+        private Runnable task;
+    }
+}
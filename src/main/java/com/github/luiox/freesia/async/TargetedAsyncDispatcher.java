@@ -0,0 +1,67 @@
+package com.github.luiox.freesia.async;
+
+import com.github.luiox.freesia.handler.BatchEventAction;
+import com.github.luiox.freesia.handler.EventAction;
+import com.github.luiox.freesia.handler.EventHandler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class TargetedAsyncDispatcher implements AsyncDispatcher {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final AsyncDispatcher fallback;
+    private final Map<String, DispatchTarget> targets = new ConcurrentHashMap<>();
+
+    public TargetedAsyncDispatcher(AsyncDispatcher fallback) {
+        this.fallback = fallback;
+    }
+
+    public DispatchTarget target(String name) {
+        return this.targets.computeIfAbsent(name, key -> new DispatchTarget(key, DEFAULT_CAPACITY));
+    }
+
+    public DispatchTarget target(String name, int capacity) {
+        DispatchTarget target = this.targets.computeIfAbsent(name, key -> new DispatchTarget(key, capacity));
+        if (target.capacity() != capacity)
+            throw new IllegalStateException("Dispatch target " + name + " already exists with capacity "
+                    + target.capacity());
+        return target;
+    }
+
+    @Override
+    public EventAction bind(EventHandler eventHandler) {
+        if (eventHandler.getTarget() == null)
+            return this.fallback.bind(eventHandler);
+
+        DispatchTarget target = this.target(eventHandler.getTarget());
+        return event -> target.publish(eventHandler, event);
+    }
+
+    @Override
+    public BatchEventAction bindBatch(EventHandler eventHandler) {
+        if (eventHandler.getTarget() == null)
+            return this.fallback.bindBatch(eventHandler);
+        return AsyncDispatcher.super.bindBatch(eventHandler);
+    }
+
+    @Override
+    public void execute(EventHandler eventHandler, Object event, Runnable task) {
+        if (eventHandler.getTarget() == null)
+            this.fallback.execute(eventHandler, event, task);
+        else
+            this.target(eventHandler.getTarget()).execute(task);
+    }
+
+    @Override
+    public void unbind(EventHandler eventHandler) {
+        if (eventHandler.getTarget() == null)
+            this.fallback.unbind(eventHandler);
+    }
+
+    @Override
+    public void shutdown() {
+        this.targets.values().forEach(DispatchTarget::stop);
+        this.fallback.shutdown();
+    }
+}
@@ -0,0 +1,140 @@
+package com.github.luiox.freesia.async;
+
+import com.github.luiox.freesia.handler.EventAction;
+import com.github.luiox.freesia.handler.EventHandler;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class VirtualThreadAsyncDispatcher implements AsyncDispatcher {
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private static final MethodHandle NEW_VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutorFactory();
+
+    private final ExecutorService executorService;
+    private final boolean virtual;
+    private final int maxConcurrencyPerHandler;
+    private final Map<EventHandler, HandlerLimiter> limiters = new ConcurrentHashMap<>();
+
+    public VirtualThreadAsyncDispatcher() {
+        this(UNLIMITED);
+    }
+
+    public VirtualThreadAsyncDispatcher(int maxConcurrencyPerHandler) {
+        if (maxConcurrencyPerHandler <= 0)
+            throw new IllegalArgumentException("maxConcurrencyPerHandler must be positive: " + maxConcurrencyPerHandler);
+
+        ExecutorService virtualThreadExecutor = newVirtualThreadExecutor();
+        this.virtual = virtualThreadExecutor != null;
+        this.executorService = this.virtual ? virtualThreadExecutor : Executors.newCachedThreadPool();
+        this.maxConcurrencyPerHandler = maxConcurrencyPerHandler;
+    }
+
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    public boolean isVirtual() {
+        return this.virtual;
+    }
+
+    @Override
+    public EventAction bind(EventHandler eventHandler) {
+        if (this.maxConcurrencyPerHandler == UNLIMITED)
+            return event -> this.executorService.execute(() -> eventHandler.handle(event));
+
+        HandlerLimiter limiter = this.limiters.computeIfAbsent(eventHandler, HandlerLimiter::new);
+        return limiter::submit;
+    }
+
+    @Override
+    public void execute(EventHandler eventHandler, Object event, Runnable task) {
+        if (this.maxConcurrencyPerHandler == UNLIMITED)
+            this.executorService.execute(task);
+        else
+            this.limiters.computeIfAbsent(eventHandler, HandlerLimiter::new).submit(new QueuedTask(task));
+    }
+
+    @Override
+    public void unbind(EventHandler eventHandler) {
+        this.limiters.remove(eventHandler);
+    }
+
+    @Override
+    public void shutdown() {
+        this.executorService.shutdown();
+    }
+
+    private static MethodHandle findVirtualThreadExecutorFactory() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException exception) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        if (NEW_VIRTUAL_THREAD_EXECUTOR == null)
+            return null;
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invokeExact();
+        } catch (UnsupportedOperationException exception) {
+            return null;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("Could not create virtual thread executor", throwable);
+        }
+    }
+
+    private final class HandlerLimiter implements Runnable {
+        private final EventHandler eventHandler;
+        private final Queue<Object> backlog = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger active = new AtomicInteger();
+
+        private HandlerLimiter(EventHandler eventHandler) {
+            this.eventHandler = eventHandler;
+        }
+
+        private void submit(Object event) {
+            this.backlog.add(event);
+            this.spawnIfBelowLimit();
+        }
+
+        private void spawnIfBelowLimit() {
+            for (; ; ) {
+                int current = this.active.get();
+                if (current >= VirtualThreadAsyncDispatcher.this.maxConcurrencyPerHandler || this.backlog.isEmpty())
+                    return;
+                if (this.active.compareAndSet(current, current + 1))
+                    break;
+            }
+
+            try {
+                VirtualThreadAsyncDispatcher.this.executorService.execute(this);
+            } catch (RuntimeException exception) {
+                this.active.decrementAndGet();
+                throw exception;
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Object event;
+                while ((event = this.backlog.poll()) != null)
+                    QueuedTask.deliver(this.eventHandler, event);
+            } finally {
+                this.active.decrementAndGet();
+            }
+            this.spawnIfBelowLimit();
+        }
+    }
+}
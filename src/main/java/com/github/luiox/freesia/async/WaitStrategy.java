@@ -0,0 +1,37 @@
+package com.github.luiox.freesia.async;
+
+import java.util.concurrent.locks.LockSupport;
+
+@FunctionalInterface
+public interface WaitStrategy {
+    int SPIN_TRIES = 100;
+    int YIELD_TRIES = 100;
+
+    void idle(int idleCount);
+
+    static WaitStrategy busySpin() {
+        return idleCount -> {
+        };
+    }
+
+    static WaitStrategy yielding() {
+        return idleCount -> {
+            if (idleCount >= SPIN_TRIES)
+                Thread.yield();
+        };
+    }
+
+    static WaitStrategy parking(long parkNanos) {
+        if (parkNanos <= 0L)
+            throw new IllegalArgumentException("parkNanos must be positive: " + parkNanos);
+        return idleCount -> {
+            if (idleCount < SPIN_TRIES)
+                return;
+            if (idleCount < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+                return;
+            }
+            LockSupport.parkNanos(parkNanos);
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package com.github.luiox.freesia.channel;
+
+import com.github.luiox.freesia.handler.Listener;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+final class ChannelListener {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final ClassValue<ChannelListener[]> LISTENERS = new ClassValue<ChannelListener[]>() {
+        @Override
+        protected ChannelListener[] computeValue(Class<?> type) {
+            List<ChannelListener> listeners = new ArrayList<>();
+            for (Method method : type.getDeclaredMethods()) {
+                Listener listener = method.getAnnotation(Listener.class);
+                if (listener == null || method.getParameterCount() != 1)
+                    continue;
+
+                Class<?> actionType = actionTypeOf(method.getParameterTypes()[0]);
+                if (actionType != null)
+                    listeners.add(new ChannelListener(method, listener, actionType));
+            }
+            return listeners.toArray(new ChannelListener[0]);
+        }
+    };
+
+    private final Class<?> valueType;
+    private final int priority;
+    private final MethodHandle factory;
+
+    private ChannelListener(Method method, Listener listener, Class<?> actionType) {
+        if (listener.async() || listener.filters().length != 0 || !listener.key().isEmpty()
+                || !listener.thread().isEmpty())
+            throw new IllegalArgumentException("Primitive channel listener " + method
+                    + " only supports priority; async, filters, key and thread require event objects");
+        this.valueType = method.getParameterTypes()[0];
+        this.priority = listener.priority();
+        this.factory = factory(method, actionType);
+    }
+
+    static ChannelListener[] of(Class<?> listenerType) {
+        return LISTENERS.get(listenerType);
+    }
+
+    Class<?> getValueType() {
+        return this.valueType;
+    }
+
+    int getPriority() {
+        return this.priority;
+    }
+
+    Object bind(Object target) {
+        try {
+            if (this.factory.type().parameterCount() == 0)
+                return this.factory.invoke();
+            return this.factory.invoke(target);
+        } catch (Throwable throwable) {
+            throw new RuntimeException("Could not bind channel action to: " + target, throwable);
+        }
+    }
+
+    private static Class<?> actionTypeOf(Class<?> valueType) {
+        if (valueType == long.class)
+            return LongAction.class;
+        if (valueType == double.class)
+            return DoubleAction.class;
+        return null;
+    }
+
+    private static MethodHandle factory(Method method, Class<?> actionType) {
+        try {
+            if (!method.isAccessible())
+                method.setAccessible(true);
+            MethodHandle implementation = LOOKUP.unreflect(method);
+            MethodType signature = MethodType.methodType(void.class, method.getParameterTypes()[0]);
+            MethodType factoryType = Modifier.isStatic(method.getModifiers())
+                    ? MethodType.methodType(actionType)
+                    : MethodType.methodType(actionType, method.getDeclaringClass());
+            CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "invoke", factoryType, signature,
+                    implementation, signature);
+            return callSite.getTarget();
+        } catch (Throwable throwable) {
+            throw new RuntimeException("Could not create lambda channel action for method: " + method, throwable);
+        }
+    }
+}
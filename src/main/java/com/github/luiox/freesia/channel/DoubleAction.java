@@ -0,0 +1,6 @@
+package com.github.luiox.freesia.channel;
+
+@FunctionalInterface
+public interface DoubleAction {
+    void invoke(double value) throws Throwable;
+}
@@ -0,0 +1,23 @@
+package com.github.luiox.freesia.channel;
+
+public final class DoubleChannel extends PrimitiveChannel<DoubleAction> {
+    public DoubleChannel() {
+        super(double.class, DoubleAction[]::new);
+    }
+
+    public void post(double value) {
+        DoubleAction[] actions = this.actions;
+        for (int i = 0; i < actions.length; i++) {
+            try {
+                actions[i].invoke(value);
+            } catch (Throwable throwable) {
+                throwable.printStackTrace();
+            }
+        }
+    }
+
+    @Override
+    DoubleAction cast(Object action) {
+        return (DoubleAction) action;
+    }
+}
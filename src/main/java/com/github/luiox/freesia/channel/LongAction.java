@@ -0,0 +1,6 @@
+package com.github.luiox.freesia.channel;
+
+@FunctionalInterface
+public interface LongAction {
+    void invoke(long value) throws Throwable;
+}
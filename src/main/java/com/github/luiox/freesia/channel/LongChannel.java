@@ -0,0 +1,23 @@
+package com.github.luiox.freesia.channel;
+
+public final class LongChannel extends PrimitiveChannel<LongAction> {
+    public LongChannel() {
+        super(long.class, LongAction[]::new);
+    }
+
+    public void post(long value) {
+        LongAction[] actions = this.actions;
+        for (int i = 0; i < actions.length; i++) {
+            try {
+                actions[i].invoke(value);
+            } catch (Throwable throwable) {
+                throwable.printStackTrace();
+            }
+        }
+    }
+
+    @Override
+    LongAction cast(Object action) {
+        return (LongAction) action;
+    }
+}
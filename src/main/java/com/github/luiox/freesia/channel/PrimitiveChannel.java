@@ -0,0 +1,85 @@
+package com.github.luiox.freesia.channel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+abstract class PrimitiveChannel<A> {
+    private final Class<?> valueType;
+    private final IntFunction<A[]> arrayFactory;
+    private final Map<Object, List<Binding<A>>> registrations = new HashMap<>();
+    private final List<Binding<A>> bindings = new ArrayList<>();
+    volatile A[] actions;
+
+    PrimitiveChannel(Class<?> valueType, IntFunction<A[]> arrayFactory) {
+        this.valueType = valueType;
+        this.arrayFactory = arrayFactory;
+        this.actions = arrayFactory.apply(0);
+    }
+
+    public synchronized boolean isRegistered(Object listener) {
+        Objects.requireNonNull(listener, "listener");
+        return this.registrations.containsKey(listener);
+    }
+
+    public synchronized boolean register(Object listener) {
+        Objects.requireNonNull(listener, "listener");
+        if (this.registrations.containsKey(listener))
+            return false;
+
+        List<Binding<A>> added = new ArrayList<>();
+        for (ChannelListener channelListener : ChannelListener.of(listener.getClass())) {
+            if (channelListener.getValueType() == this.valueType)
+                added.add(new Binding<>(this.cast(channelListener.bind(listener)), channelListener.getPriority()));
+        }
+        if (added.isEmpty())
+            return false;
+
+        this.registrations.put(listener, added);
+        for (Binding<A> binding : added) {
+            int index = 0;
+            while (index < this.bindings.size() && this.bindings.get(index).priority >= binding.priority)
+                index++;
+            this.bindings.add(index, binding);
+        }
+        this.publish();
+        return true;
+    }
+
+    public synchronized boolean unregister(Object listener) {
+        Objects.requireNonNull(listener, "listener");
+        List<Binding<A>> removed = this.registrations.remove(listener);
+        if (removed == null)
+            return false;
+
+        this.bindings.removeIf(binding -> removed.stream().anyMatch(candidate -> candidate == binding));
+        this.publish();
+        return true;
+    }
+
+    public int size() {
+        return this.actions.length;
+    }
+
+    abstract A cast(Object action);
+
+    private void publish() {
+        A[] actions = this.arrayFactory.apply(this.bindings.size());
+        for (int i = 0; i < actions.length; i++)
+            actions[i] = this.bindings.get(i).action;
+        this.actions = actions;
+    }
+
+    private static final class Binding<A> {
+        private final A action;
+        private final int priority;
+
+        private Binding(A action, int priority) {
+            this.action = action;
+            this.priority = priority;
+        }
+    }
+}
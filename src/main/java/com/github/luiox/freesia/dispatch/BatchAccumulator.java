@@ -0,0 +1,74 @@
+package com.github.luiox.freesia.dispatch;
+
+import com.github.luiox.freesia.handler.BatchEventHandler;
+import com.github.luiox.freesia.handler.EventHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+public final class BatchAccumulator {
+    private final BatchEventHandler eventHandler;
+    private final EventHandler sink;
+    private final ScheduledExecutorService scheduler;
+    private final Object deliveryLock = new Object();
+
+    private List<Object> buffer;
+    private ScheduledFuture<?> scheduledFlush;
+
+    public BatchAccumulator(BatchEventHandler eventHandler, EventHandler sink, ScheduledExecutorService scheduler) {
+        this.eventHandler = eventHandler;
+        this.sink = sink;
+        this.scheduler = scheduler;
+    }
+
+    public void add(Object event) {
+        boolean full;
+        synchronized (this) {
+            if (this.buffer == null)
+                this.buffer = new ArrayList<>(Math.min(this.eventHandler.getMaxSize(), 1024));
+            this.buffer.add(event);
+
+            full = this.buffer.size() >= this.eventHandler.getMaxSize() || this.eventHandler.getMaxDelayMs() == 0L;
+            if (!full && this.buffer.size() == 1) {
+                this.scheduledFlush = this.scheduler.schedule(this::flush, this.eventHandler.getMaxDelayMs(),
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full)
+            this.flush();
+    }
+
+    public void flush() {
+        synchronized (this.deliveryLock) {
+            List<Object> ready;
+            synchronized (this) {
+                ready = this.takeBuffer();
+            }
+            if (ready != null)
+                this.deliver(ready);
+        }
+    }
+
+    private List<Object> takeBuffer() {
+        List<Object> ready = this.buffer;
+        this.buffer = null;
+        if (this.scheduledFlush != null) {
+            this.scheduledFlush.cancel(false);
+            this.scheduledFlush = null;
+        }
+        return ready;
+    }
+
+    private void deliver(List<Object> ready) {
+        int maxSize = this.eventHandler.getMaxSize();
+        if (ready.size() <= maxSize) {
+            this.sink.handle(ready);
+            return;
+        }
+        for (int from = 0; from < ready.size(); from += maxSize)
+            this.sink.handle(ready.subList(from, Math.min(ready.size(), from + maxSize)));
+    }
+}
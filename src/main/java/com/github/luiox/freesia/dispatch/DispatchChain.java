@@ -0,0 +1,312 @@
+package com.github.luiox.freesia.dispatch;
+
+import com.github.luiox.freesia.ICancellable;
+import com.github.luiox.freesia.IKeyed;
+import com.github.luiox.freesia.async.AsyncDispatcher;
+import com.github.luiox.freesia.failure.ExceptionHandler;
+import com.github.luiox.freesia.filter.EventPredicate;
+import com.github.luiox.freesia.handler.BatchEventAction;
+import com.github.luiox.freesia.handler.EventAction;
+import com.github.luiox.freesia.handler.EventHandler;
+import com.github.luiox.freesia.metrics.EventTypeRecorder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public final class DispatchChain implements EventDispatcher {
+    private static final int MEMO_SLOTS = 31;
+    private static final long REJECTED = Long.MIN_VALUE;
+
+    private final EventHandler[] handlers;
+    private final EventAction[] actions;
+    private final BatchEventAction[] batchActions;
+    private final boolean cancellable;
+    private final EventTypeRecorder postRecorder;
+    private final ExceptionHandler exceptionHandler;
+    private final EventPredicate[] predicates;
+    private final int[][] guards;
+    private final Map<Object, DispatchChain> routes;
+    private final DispatchChain[] forwards;
+    private final AsyncDispatcher[] forwardDispatchers;
+
+    public DispatchChain(EventHandler[] handlers, EventAction[] actions, boolean cancellable) {
+        this(handlers, actions, new BatchEventAction[actions.length], cancellable, null,
+                ExceptionHandler.PRINT_STACK_TRACE);
+    }
+
+    public DispatchChain(EventHandler[] handlers, EventAction[] actions, BatchEventAction[] batchActions,
+                         boolean cancellable, EventTypeRecorder postRecorder, ExceptionHandler exceptionHandler) {
+        this(handlers, actions, batchActions, cancellable, postRecorder, exceptionHandler, null);
+    }
+
+    public DispatchChain(EventHandler[] handlers, EventAction[] actions, BatchEventAction[] batchActions,
+                         boolean cancellable, EventTypeRecorder postRecorder, ExceptionHandler exceptionHandler,
+                         Map<Object, DispatchChain> routes) {
+        this(handlers, actions, batchActions, cancellable, postRecorder, exceptionHandler, routes, null, null);
+    }
+
+    public DispatchChain(EventHandler[] handlers, EventAction[] actions, BatchEventAction[] batchActions,
+                         boolean cancellable, EventTypeRecorder postRecorder, ExceptionHandler exceptionHandler,
+                         Map<Object, DispatchChain> routes, DispatchChain[] forwards,
+                         AsyncDispatcher[] forwardDispatchers) {
+        if (handlers.length != actions.length || handlers.length != batchActions.length)
+            throw new IllegalArgumentException("Expected one action per handler");
+        this.handlers = handlers;
+        this.actions = actions;
+        this.batchActions = batchActions;
+        this.cancellable = cancellable;
+        this.postRecorder = postRecorder;
+        this.exceptionHandler = exceptionHandler;
+        this.routes = routes == null || routes.isEmpty() ? null : routes;
+        if (forwards != null && (forwardDispatchers == null || forwards.length != forwardDispatchers.length))
+            throw new IllegalArgumentException("Expected one async dispatcher per forward");
+        this.forwards = forwards == null || forwards.length == 0 ? null : forwards;
+        this.forwardDispatchers = this.forwards == null ? null : forwardDispatchers;
+
+        Map<EventPredicate, Integer> indexes = new HashMap<>();
+        List<EventPredicate> predicates = new ArrayList<>();
+        int[][] guards = null;
+        for (int i = 0; i < handlers.length; i++) {
+            List<Integer> guard = new ArrayList<>();
+            for (EventPredicate predicate : handlers[i].getPredicates()) {
+                Integer index = indexes.get(predicate);
+                if (index == null) {
+                    index = predicates.size();
+                    indexes.put(predicate, index);
+                    predicates.add(predicate);
+                }
+                guard.add(index);
+            }
+            if (guard.isEmpty())
+                continue;
+            if (guards == null)
+                guards = new int[handlers.length][];
+            guards[i] = guard.stream().mapToInt(Integer::intValue).toArray();
+        }
+        this.predicates = predicates.toArray(new EventPredicate[0]);
+        this.guards = guards;
+    }
+
+    public <E> void dispatch(E event) {
+        if (this.postRecorder != null)
+            this.postRecorder.onPost(1);
+
+        DispatchChain route = this.routeOf(event);
+        (route != null ? route : this).deliver(event);
+        if (this.forwards != null) {
+            for (DispatchChain forward : this.forwards)
+                forward.dispatch(event);
+        }
+    }
+
+    private void deliver(Object event) {
+        EventAction[] actions = this.actions;
+        if (this.guards != null) {
+            this.dispatchGuarded(event);
+            return;
+        }
+        if (!this.cancellable) {
+            for (int i = 0; i < actions.length; i++)
+                this.invoke(i, actions[i], event);
+            return;
+        }
+
+        ICancellable cancellableEvent = (ICancellable) event;
+        for (int i = 0; i < actions.length; i++) {
+            if (cancellableEvent.isCancelled())
+                return;
+            this.invoke(i, actions[i], event);
+        }
+    }
+
+    private void dispatchGuarded(Object event) {
+        EventAction[] actions = this.actions;
+        int[][] guards = this.guards;
+        long memo = 0L;
+        for (int i = 0; i < actions.length; i++) {
+            if (this.cancellable && ((ICancellable) event).isCancelled())
+                return;
+            if (guards[i] != null) {
+                memo = this.admit(i, event, memo);
+                if (memo < 0L)
+                    continue;
+            }
+            this.invoke(i, actions[i], event);
+        }
+    }
+
+    public <E> CompletableFuture<E> dispatchAsync(E event, AsyncDispatcher asyncDispatcher) {
+        if (this.postRecorder != null)
+            this.postRecorder.onPost(1);
+
+        DispatchChain route = this.routeOf(event);
+        CompletableFuture<E> future = (route != null ? route : this).deliverAsync(event, asyncDispatcher);
+        if (this.forwards != null) {
+            for (int i = 0; i < this.forwards.length; i++)
+                future = future.thenCombine(this.forwards[i].dispatchAsync(event, this.forwardDispatchers[i]),
+                        (delivered, forwarded) -> delivered);
+        }
+        return future;
+    }
+
+    private <E> CompletableFuture<E> deliverAsync(E event, AsyncDispatcher asyncDispatcher) {
+        EventHandler[] handlers = this.handlers;
+        EventAction[] actions = this.actions;
+        DispatchCompletion<E> completion = new DispatchCompletion<>(event, handlers.length);
+        long memo = 0L;
+        for (int i = 0; i < handlers.length; i++) {
+            if (this.cancellable && ((ICancellable) event).isCancelled()) {
+                completion.done(handlers.length - i);
+                break;
+            }
+            if (this.guards != null && this.guards[i] != null) {
+                memo = this.admit(i, event, memo);
+                if (memo < 0L) {
+                    completion.done(1);
+                    continue;
+                }
+            }
+
+            EventHandler eventHandler = handlers[i];
+            if (!eventHandler.isAsync()) {
+                completion.run(actions[i]);
+                continue;
+            }
+
+            try {
+                asyncDispatcher.execute(eventHandler, event, () -> completion.run(eventHandler.getAdmittedAction()));
+            } catch (RuntimeException exception) {
+                completion.fail(exception);
+            }
+        }
+        return completion.future();
+    }
+
+    public void dispatchBatch(Object[] events, int from, int to) {
+        if (this.postRecorder != null)
+            this.postRecorder.onPost(to - from);
+
+        if (this.routes == null) {
+            this.deliverBatch(events, from, to);
+        } else {
+            int start = from;
+            while (start < to) {
+                DispatchChain route = this.routeOf(events[start]);
+                int end = start + 1;
+                while (end < to && this.routeOf(events[end]) == route)
+                    end++;
+                (route != null ? route : this).deliverBatch(events, start, end);
+                start = end;
+            }
+        }
+
+        if (this.forwards != null) {
+            for (DispatchChain forward : this.forwards)
+                forward.dispatchBatch(events, from, to);
+        }
+    }
+
+    private void deliverBatch(Object[] events, int from, int to) {
+        EventAction[] actions = this.actions;
+        for (int i = 0; i < actions.length; i++) {
+            BatchEventAction batchAction = this.batchActions[i];
+            if (batchAction != null) {
+                this.invokeBatch(i, batchAction, events, from, to);
+                continue;
+            }
+
+            EventAction action = actions[i];
+            for (int j = from; j < to; j++) {
+                if (this.cancellable && ((ICancellable) events[j]).isCancelled())
+                    continue;
+                if (this.guards != null && this.guards[i] != null && this.admit(i, events[j], 0L) < 0L)
+                    continue;
+                this.invoke(i, action, events[j]);
+            }
+        }
+    }
+
+    public EventHandler[] getHandlers() {
+        return this.handlers.clone();
+    }
+
+    public int size() {
+        return this.handlers.length;
+    }
+
+    private DispatchChain routeOf(Object event) {
+        if (this.routes == null)
+            return null;
+
+        Object key = ((IKeyed) event).getKey();
+        return key != null ? this.routes.get(key) : null;
+    }
+
+    private void invokeBatch(int index, BatchEventAction batchAction, Object[] events, int from, int to) {
+        boolean guarded = this.guards != null && this.guards[index] != null;
+        if (this.cancellable || guarded) {
+            Object[] live = new Object[to - from];
+            int size = 0;
+            for (int j = from; j < to; j++) {
+                if (this.cancellable && ((ICancellable) events[j]).isCancelled())
+                    continue;
+                if (!guarded || this.admit(index, events[j], 0L) >= 0L)
+                    live[size++] = events[j];
+            }
+            if (size == 0)
+                return;
+            events = live;
+            from = 0;
+            to = size;
+        }
+
+        try {
+            batchAction.invoke(events, from, to);
+        } catch (Throwable throwable) {
+            this.exceptionHandler.handleException(throwable, this.handlers[index], events[from]);
+        }
+    }
+
+    private long admit(int index, Object event, long memo) {
+        memo &= ~REJECTED;
+        for (int predicate : this.guards[index]) {
+            if (predicate >= MEMO_SLOTS) {
+                if (!this.test(index, predicate, event))
+                    return memo | REJECTED;
+                continue;
+            }
+
+            long evaluated = 1L << (predicate + MEMO_SLOTS);
+            long passed = 1L << predicate;
+            if ((memo & evaluated) == 0L) {
+                memo |= evaluated;
+                if (this.test(index, predicate, event))
+                    memo |= passed;
+            }
+            if ((memo & passed) == 0L)
+                return memo | REJECTED;
+        }
+        return memo;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean test(int index, int predicate, Object event) {
+        try {
+            return this.predicates[predicate].test(event);
+        } catch (Throwable throwable) {
+            this.exceptionHandler.handleException(throwable, this.handlers[index], event);
+            return false;
+        }
+    }
+
+    private void invoke(int index, EventAction action, Object event) {
+        try {
+            action.invoke(event);
+        } catch (Throwable throwable) {
+            this.exceptionHandler.handleException(throwable, this.handlers[index], event);
+        }
+    }
+}
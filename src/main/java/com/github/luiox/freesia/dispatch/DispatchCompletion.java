@@ -0,0 +1,52 @@
+package com.github.luiox.freesia.dispatch;
+
+import com.github.luiox.freesia.EventDispatchException;
+import com.github.luiox.freesia.handler.EventAction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class DispatchCompletion<E> {
+    private final E event;
+    private final CompletableFuture<E> future = new CompletableFuture<>();
+    private final AtomicInteger remaining;
+    private final ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+    DispatchCompletion(E event, int handlers) {
+        this.event = event;
+        this.remaining = new AtomicInteger(handlers);
+        if (handlers == 0)
+            this.future.complete(event);
+    }
+
+    CompletableFuture<E> future() {
+        return this.future;
+    }
+
+    void run(EventAction action) {
+        try {
+            action.invoke(this.event);
+        } catch (Throwable throwable) {
+            this.failures.add(throwable);
+        }
+        this.done(1);
+    }
+
+    void fail(Throwable throwable) {
+        this.failures.add(throwable);
+        this.done(1);
+    }
+
+    void done(int handlers) {
+        if (handlers <= 0 || this.remaining.addAndGet(-handlers) != 0)
+            return;
+
+        if (this.failures.isEmpty())
+            this.future.complete(this.event);
+        else
+            this.future.completeExceptionally(new EventDispatchException(this.event, new ArrayList<>(this.failures)));
+    }
+}
@@ -0,0 +1,187 @@
+package com.github.luiox.freesia.dispatch;
+
+import com.github.luiox.freesia.handler.EventHandler;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class HandlerBucket {
+    private static final EventHandler[] EMPTY = new EventHandler[0];
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(null));
+    private final Map<EventHandler, Long> sequences = new ConcurrentHashMap<>();
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    public EventHandler[] snapshot() {
+        Snapshot snapshot = this.snapshot.get();
+        return snapshot == null ? EMPTY : snapshot.handlers();
+    }
+
+    public boolean addAll(Collection<EventHandler> added) {
+        EventHandler[] sorted = added.toArray(EMPTY);
+        Arrays.sort(sorted);
+        long[] assigned = new long[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            assigned[i] = this.nextSequence.getAndIncrement();
+            this.sequences.put(sorted[i], assigned[i]);
+        }
+
+        while (true) {
+            Snapshot current = this.snapshot.get();
+            if (current == null) {
+                for (EventHandler eventHandler : sorted)
+                    this.sequences.remove(eventHandler);
+                return false;
+            }
+
+            Node root = current.root;
+            for (int i = 0; i < sorted.length; i++)
+                root = insert(root, sorted[i], assigned[i]);
+            if (this.snapshot.compareAndSet(current, new Snapshot(root)))
+                return true;
+        }
+    }
+
+    public boolean removeAll(Collection<EventHandler> removed) {
+        while (true) {
+            Snapshot current = this.snapshot.get();
+            if (current == null)
+                return true;
+
+            Node root = current.root;
+            for (EventHandler eventHandler : removed) {
+                Long sequence = this.sequences.get(eventHandler);
+                if (sequence != null)
+                    root = delete(root, eventHandler, sequence);
+            }
+            if (root == current.root)
+                return false;
+            if (this.snapshot.compareAndSet(current, root == null ? null : new Snapshot(root))) {
+                for (EventHandler eventHandler : removed)
+                    this.sequences.remove(eventHandler);
+                return root == null;
+            }
+        }
+    }
+
+    private static int compare(EventHandler handler, long sequence, Node node) {
+        int order = handler.compareTo(node.handler);
+        return order != 0 ? order : Long.compare(sequence, node.sequence);
+    }
+
+    private static Node insert(Node node, EventHandler handler, long sequence) {
+        if (node == null)
+            return new Node(handler, sequence, null, null);
+
+        if (compare(handler, sequence, node) < 0)
+            return balance(node.handler, node.sequence, insert(node.left, handler, sequence), node.right);
+        return balance(node.handler, node.sequence, node.left, insert(node.right, handler, sequence));
+    }
+
+    private static Node delete(Node node, EventHandler handler, long sequence) {
+        if (node == null)
+            return null;
+
+        int order = node.handler == handler && node.sequence == sequence ? 0 : compare(handler, sequence, node);
+        if (order < 0) {
+            Node left = delete(node.left, handler, sequence);
+            return left == node.left ? node : balance(node.handler, node.sequence, left, node.right);
+        }
+        if (order > 0) {
+            Node right = delete(node.right, handler, sequence);
+            return right == node.right ? node : balance(node.handler, node.sequence, node.left, right);
+        }
+        if (node.left == null)
+            return node.right;
+        if (node.right == null)
+            return node.left;
+
+        Node first = node.right;
+        while (first.left != null)
+            first = first.left;
+        return balance(first.handler, first.sequence, node.left, deleteFirst(node.right));
+    }
+
+    private static Node deleteFirst(Node node) {
+        if (node.left == null)
+            return node.right;
+        return balance(node.handler, node.sequence, deleteFirst(node.left), node.right);
+    }
+
+    private static Node balance(EventHandler handler, long sequence, Node left, Node right) {
+        int difference = height(left) - height(right);
+        if (difference > 1) {
+            if (height(left.left) < height(left.right))
+                left = rotateLeft(left.left, left.right, left.handler, left.sequence);
+            return new Node(left.handler, left.sequence, left.left, new Node(handler, sequence, left.right, right));
+        }
+        if (difference < -1) {
+            if (height(right.right) < height(right.left))
+                right = rotateRight(right.left, right.right, right.handler, right.sequence);
+            return new Node(right.handler, right.sequence, new Node(handler, sequence, left, right.left), right.right);
+        }
+        return new Node(handler, sequence, left, right);
+    }
+
+    private static Node rotateLeft(Node left, Node right, EventHandler handler, long sequence) {
+        return new Node(right.handler, right.sequence, new Node(handler, sequence, left, right.left), right.right);
+    }
+
+    private static Node rotateRight(Node left, Node right, EventHandler handler, long sequence) {
+        return new Node(left.handler, left.sequence, left.left, new Node(handler, sequence, left.right, right));
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Snapshot {
+        private final Node root;
+        private volatile EventHandler[] handlers;
+
+        private Snapshot(Node root) {
+            this.root = root;
+        }
+
+        private EventHandler[] handlers() {
+            EventHandler[] handlers = this.handlers;
+            if (handlers == null) {
+                handlers = new EventHandler[this.root == null ? 0 : this.root.size];
+                flatten(this.root, handlers, 0);
+                this.handlers = handlers;
+            }
+            return handlers;
+        }
+
+        private static int flatten(Node node, EventHandler[] handlers, int index) {
+            if (node == null)
+                return index;
+
+            index = flatten(node.left, handlers, index);
+            handlers[index++] = node.handler;
+            return flatten(node.right, handlers, index);
+        }
+    }
+
+    private static final class Node {
+        private final EventHandler handler;
+        private final long sequence;
+        private final Node left;
+        private final Node right;
+        private final int height;
+        private final int size;
+
+        private Node(EventHandler handler, long sequence, Node left, Node right) {
+            this.handler = handler;
+            this.sequence = sequence;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = (left == null ? 0 : left.size) + (right == null ? 0 : right.size) + 1;
+        }
+    }
+}
@@ -2,20 +2,32 @@ package com.github.luiox.freesia.dispatch;
 
 import com.github.luiox.freesia.handler.EventHandler;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class MethodEventDispatcher implements EventDispatcher {
     private final Map<Class<?>, Set<EventHandler>> eventHandlers;
+    private final Map<Class<?>, EventHandler[]> resolvedHandlers = new ConcurrentHashMap<>();
 
     public MethodEventDispatcher(Map<Class<?>, Set<EventHandler>> eventHandlers) {
         this.eventHandlers = eventHandlers;
     }
 
     public <E> void dispatch(E event) {
-        for (EventHandler eventHandler : this.eventHandlers.getOrDefault(event
-                .getClass(), Collections.emptySet()))
+        for (EventHandler eventHandler : this.resolvedHandlers.computeIfAbsent(event.getClass(), this::resolve))
             eventHandler.handle(event);
     }
-}
\ No newline at end of file
+
+    private EventHandler[] resolve(Class<?> eventType) {
+        List<EventHandler> handlers = new ArrayList<>();
+        for (Class<?> type : TypeHierarchy.of(eventType))
+            handlers.addAll(this.eventHandlers.getOrDefault(type, Collections.emptySet()));
+        handlers.sort(Comparator.naturalOrder());
+        return handlers.toArray(new EventHandler[0]);
+    }
+}
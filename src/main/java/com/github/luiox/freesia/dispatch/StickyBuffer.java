@@ -0,0 +1,32 @@
+package com.github.luiox.freesia.dispatch;
+
+public final class StickyBuffer {
+    private final Object[] events;
+    private int next;
+    private int size;
+
+    public StickyBuffer(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        this.events = new Object[capacity];
+    }
+
+    public synchronized void add(Object event) {
+        this.events[this.next] = event;
+        this.next = (this.next + 1) % this.events.length;
+        if (this.size < this.events.length)
+            this.size++;
+    }
+
+    public synchronized Object latest() {
+        return this.size == 0 ? null : this.events[(this.next - 1 + this.events.length) % this.events.length];
+    }
+
+    public synchronized Object[] snapshot() {
+        Object[] snapshot = new Object[this.size];
+        int first = (this.next - this.size + this.events.length) % this.events.length;
+        for (int i = 0; i < this.size; i++)
+            snapshot[i] = this.events[(first + i) % this.events.length];
+        return snapshot;
+    }
+}
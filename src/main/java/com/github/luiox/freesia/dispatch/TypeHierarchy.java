@@ -0,0 +1,40 @@
+package com.github.luiox.freesia.dispatch;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public final class TypeHierarchy {
+    private static final ClassValue<List<Class<?>>> SUPERTYPES = new ClassValue<List<Class<?>>>() {
+        @Override
+        protected List<Class<?>> computeValue(Class<?> type) {
+            return Collections.unmodifiableList(new ArrayList<>(collect(type)));
+        }
+    };
+
+    private TypeHierarchy() {
+    }
+
+    public static List<Class<?>> of(Class<?> type) {
+        return SUPERTYPES.get(type);
+    }
+
+    private static Set<Class<?>> collect(Class<?> type) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        for (Class<?> current = type; current != null; current = current.getSuperclass())
+            types.add(current);
+
+        Deque<Class<?>> pending = new ArrayDeque<>(types);
+        while (!pending.isEmpty()) {
+            for (Class<?> superInterface : pending.poll().getInterfaces()) {
+                if (types.add(superInterface))
+                    pending.add(superInterface);
+            }
+        }
+        return types;
+    }
+}
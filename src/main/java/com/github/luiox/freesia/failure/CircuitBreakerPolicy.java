@@ -0,0 +1,31 @@
+package com.github.luiox.freesia.failure;
+
+import java.util.concurrent.TimeUnit;
+
+public final class CircuitBreakerPolicy {
+    private final int failureThreshold;
+    private final long windowNanos;
+    private final long cooldownNanos;
+
+    public CircuitBreakerPolicy(int failureThreshold, long window, long cooldown, TimeUnit unit) {
+        if (failureThreshold <= 0)
+            throw new IllegalArgumentException("failureThreshold must be positive: " + failureThreshold);
+        if (window <= 0L || cooldown <= 0L)
+            throw new IllegalArgumentException("window and cooldown must be positive");
+        this.failureThreshold = failureThreshold;
+        this.windowNanos = unit.toNanos(window);
+        this.cooldownNanos = unit.toNanos(cooldown);
+    }
+
+    public int getFailureThreshold() {
+        return this.failureThreshold;
+    }
+
+    public long getWindowNanos() {
+        return this.windowNanos;
+    }
+
+    public long getCooldownNanos() {
+        return this.cooldownNanos;
+    }
+}
@@ -0,0 +1,5 @@
+package com.github.luiox.freesia.failure;
+
+public interface CircuitListener {
+    void onOpen(GuardedEventHandler eventHandler);
+}
@@ -0,0 +1,10 @@
+package com.github.luiox.freesia.failure;
+
+import com.github.luiox.freesia.handler.EventHandler;
+
+@FunctionalInterface
+public interface ExceptionHandler {
+    ExceptionHandler PRINT_STACK_TRACE = (failure, eventHandler, event) -> failure.printStackTrace();
+
+    void handleException(Throwable failure, EventHandler eventHandler, Object event);
+}
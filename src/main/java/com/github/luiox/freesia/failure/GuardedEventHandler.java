@@ -0,0 +1,170 @@
+package com.github.luiox.freesia.failure;
+
+import com.github.luiox.freesia.filter.EventFilter;
+import com.github.luiox.freesia.filter.EventPredicate;
+import com.github.luiox.freesia.handler.EventAction;
+import com.github.luiox.freesia.handler.EventHandler;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class GuardedEventHandler implements EventHandler {
+    private static final int CLOSED = 0;
+    private static final int OPEN = 1;
+    private static final int HALF_OPEN = 2;
+
+    private final EventHandler delegate;
+    private final Class<?> eventType;
+    private final ExceptionHandler exceptionHandler;
+    private final CircuitBreakerPolicy policy;
+    private final CircuitListener circuitListener;
+    private final EventAction action;
+    private final EventAction admittedAction;
+
+    private final AtomicInteger state = new AtomicInteger(CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long firstFailureNanos;
+    private volatile boolean retired;
+
+    public GuardedEventHandler(EventHandler delegate, Class<?> eventType, ExceptionHandler exceptionHandler,
+                               CircuitBreakerPolicy policy, CircuitListener circuitListener) {
+        this(delegate, delegate.getAction(), delegate.getAdmittedAction(), eventType, exceptionHandler, policy,
+                circuitListener);
+    }
+
+    public GuardedEventHandler(EventHandler delegate, EventAction delegateAction, Class<?> eventType,
+                               ExceptionHandler exceptionHandler, CircuitBreakerPolicy policy,
+                               CircuitListener circuitListener) {
+        this(delegate, delegateAction, delegateAction, eventType, exceptionHandler, policy, circuitListener);
+    }
+
+    private GuardedEventHandler(EventHandler delegate, EventAction delegateAction, EventAction admittedDelegateAction,
+                                Class<?> eventType, ExceptionHandler exceptionHandler, CircuitBreakerPolicy policy,
+                                CircuitListener circuitListener) {
+        this.delegate = delegate;
+        this.eventType = eventType;
+        this.exceptionHandler = exceptionHandler;
+        this.policy = policy;
+        this.circuitListener = circuitListener;
+        this.action = this.guard(delegateAction);
+        this.admittedAction = admittedDelegateAction == delegateAction ? this.action
+                : this.guard(admittedDelegateAction);
+    }
+
+    private EventAction guard(EventAction delegateAction) {
+        return this.policy == null ? delegateAction : event -> {
+            try {
+                delegateAction.invoke(event);
+            } catch (Throwable throwable) {
+                this.onFailure();
+                throw throwable;
+            }
+            this.onSuccess();
+        };
+    }
+
+    public EventHandler getDelegate() {
+        return this.delegate;
+    }
+
+    public Class<?> getEventType() {
+        return this.eventType;
+    }
+
+    public boolean isOpen() {
+        return this.state.get() == OPEN;
+    }
+
+    public boolean isRetired() {
+        return this.retired;
+    }
+
+    public void retire() {
+        this.retired = true;
+    }
+
+    public boolean halfOpen() {
+        return this.state.compareAndSet(OPEN, HALF_OPEN);
+    }
+
+    private void onSuccess() {
+        if (this.consecutiveFailures.get() != 0)
+            this.consecutiveFailures.set(0);
+        if (this.state.get() == HALF_OPEN)
+            this.state.compareAndSet(HALF_OPEN, CLOSED);
+    }
+
+    private void onFailure() {
+        if (this.state.compareAndSet(HALF_OPEN, OPEN)) {
+            this.circuitListener.onOpen(this);
+            return;
+        }
+
+        long now = System.nanoTime();
+        int failures = this.consecutiveFailures.incrementAndGet();
+        if (failures == 1) {
+            this.firstFailureNanos = now;
+        } else if (now - this.firstFailureNanos > this.policy.getWindowNanos()) {
+            this.firstFailureNanos = now;
+            this.consecutiveFailures.set(1);
+            failures = 1;
+        }
+
+        if (failures >= this.policy.getFailureThreshold() && this.state.compareAndSet(CLOSED, OPEN)) {
+            this.consecutiveFailures.set(0);
+            this.circuitListener.onOpen(this);
+        }
+    }
+
+    public <E> void handle(E event) {
+        try {
+            this.action.invoke(event);
+        } catch (Throwable throwable) {
+            this.exceptionHandler.handleException(throwable, this, event);
+        }
+    }
+
+    @Override
+    public EventAction getAction() {
+        return this.action;
+    }
+
+    @Override
+    public EventAction getAdmittedAction() {
+        return this.admittedAction;
+    }
+
+    public Object getListener() {
+        return this.delegate.getListener();
+    }
+
+    public int getPriority() {
+        return this.delegate.getPriority();
+    }
+
+    public boolean isAsync() {
+        return this.delegate.isAsync();
+    }
+
+    public Iterable<EventFilter> getFilters() {
+        return this.delegate.getFilters();
+    }
+
+    @Override
+    public Object getKey() {
+        return this.delegate.getKey();
+    }
+
+    @Override
+    public String getTarget() {
+        return this.delegate.getTarget();
+    }
+
+    @Override
+    public Iterable<EventPredicate> getPredicates() {
+        return this.delegate.getPredicates();
+    }
+
+    public int compareTo(EventHandler eventHandler) {
+        return Integer.compare(eventHandler.getPriority(), getPriority());
+    }
+}
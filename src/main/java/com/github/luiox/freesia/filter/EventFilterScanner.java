@@ -1,7 +1,5 @@
 package com.github.luiox.freesia.filter;
 
-import java.util.Set;
-
 public interface EventFilterScanner<T> {
-    Set<EventFilter> scan(T paramT);
-}
\ No newline at end of file
+    EventFilter[] scan(T paramT);
+}
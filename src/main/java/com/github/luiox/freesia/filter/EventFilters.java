@@ -0,0 +1,25 @@
+package com.github.luiox.freesia.filter;
+
+import java.lang.reflect.Constructor;
+
+public final class EventFilters {
+    private static final ClassValue<EventFilter> SHARED = new ClassValue<EventFilter>() {
+        @Override
+        protected EventFilter computeValue(Class<?> type) {
+            try {
+                Constructor<?> constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                return (EventFilter) constructor.newInstance();
+            } catch (ReflectiveOperationException exception) {
+                throw new IllegalArgumentException("Cannot instantiate filter " + type.getName(), exception);
+            }
+        }
+    };
+
+    private EventFilters() {
+    }
+
+    public static EventFilter shared(Class<? extends EventFilter> filterType) {
+        return SHARED.get(filterType);
+    }
+}
@@ -0,0 +1,12 @@
+package com.github.luiox.freesia.filter;
+
+import com.github.luiox.freesia.handler.EventHandler;
+
+public interface EventPredicate<E> extends EventFilter<E> {
+    boolean test(E event);
+
+    @Override
+    default boolean test(EventHandler eventHandler, E event) {
+        return this.test(event);
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.luiox.freesia.filter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Objects;
+
+public abstract class FieldEqualsPredicate<E> implements EventPredicate<E> {
+    private final Field field;
+    private final Object expected;
+    private final MethodHandle getter;
+
+    protected FieldEqualsPredicate(Class<E> eventType, String fieldName, Object expected) {
+        try {
+            this.field = eventType.getDeclaredField(fieldName);
+            this.field.setAccessible(true);
+            this.getter = MethodHandles.lookup().unreflectGetter(this.field)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalArgumentException("Cannot read " + eventType.getName() + "." + fieldName, exception);
+        }
+        this.expected = expected;
+    }
+
+    @Override
+    public final boolean test(E event) {
+        try {
+            return Objects.equals(this.expected, (Object) this.getter.invokeExact((Object) event));
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("Cannot read " + this.field, throwable);
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other)
+            return true;
+        if (!(other instanceof FieldEqualsPredicate))
+            return false;
+        FieldEqualsPredicate<?> predicate = (FieldEqualsPredicate<?>) other;
+        return this.field.equals(predicate.field) && Objects.equals(this.expected, predicate.expected);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * this.field.hashCode() + Objects.hashCode(this.expected);
+    }
+}
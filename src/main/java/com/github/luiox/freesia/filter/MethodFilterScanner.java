@@ -1,24 +1,32 @@
 package com.github.luiox.freesia.filter;
 
+import com.github.luiox.freesia.handler.BatchListener;
 import com.github.luiox.freesia.handler.Listener;
 
 import java.lang.reflect.Method;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 
 public final class MethodFilterScanner implements EventFilterScanner<Method> {
-    public Set<EventFilter> scan(Method listener) {
-        if (!listener.isAnnotationPresent(Listener.class))
-            return Collections.emptySet();
-        Set<EventFilter> filters = new HashSet<>();
-        for (Class<? extends EventFilter> filter : listener.getDeclaredAnnotation(Listener.class).filters()) {
+    private static final EventFilter[] NO_FILTERS = new EventFilter[0];
+
+    public EventFilter[] scan(Method listener) {
+        Class<? extends EventFilter>[] filterTypes;
+        if (listener.isAnnotationPresent(Listener.class))
+            filterTypes = listener.getDeclaredAnnotation(Listener.class).filters();
+        else if (listener.isAnnotationPresent(BatchListener.class))
+            filterTypes = listener.getDeclaredAnnotation(BatchListener.class).filters();
+        else
+            return NO_FILTERS;
+
+        List<EventFilter> filters = new ArrayList<>();
+        for (Class<? extends EventFilter> filter : filterTypes) {
             try {
-                filters.add(filter.getDeclaredConstructor().newInstance());
-            } catch (Exception exception) {
+                filters.add(EventFilters.shared(filter));
+            } catch (IllegalArgumentException exception) {
                 exception.printStackTrace();
             }
         }
-        return filters;
+        return filters.isEmpty() ? NO_FILTERS : filters.toArray(NO_FILTERS);
     }
-}
\ No newline at end of file
+}
@@ -6,7 +6,9 @@ import java.util.function.Predicate;
 public final class AnnotatedListenerPredicate implements Predicate<Method> {
     @Override
     public boolean test(Method method) {
+        if (method.isAnnotationPresent(BatchListener.class))
+            return BatchEventHandler.isBatchParameter(method);
         return (method.isAnnotationPresent(Listener.class) && method
-                .getParameterCount() == 1);
+                .getParameterCount() == 1 && !method.getParameterTypes()[0].isPrimitive());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,6 @@
+package com.github.luiox.freesia.handler;
+
+@FunctionalInterface
+public interface BatchEventAction {
+    void invoke(Object[] events, int from, int to) throws Throwable;
+}
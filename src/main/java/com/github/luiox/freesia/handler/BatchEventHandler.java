@@ -0,0 +1,155 @@
+package com.github.luiox.freesia.handler;
+
+import com.github.luiox.freesia.failure.ExceptionHandler;
+import com.github.luiox.freesia.filter.EventFilter;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public final class BatchEventHandler implements EventHandler {
+    private final Object listenerParent;
+    private final Method method;
+    private final EventFilter[] eventFilters;
+    private final Class<?> eventType;
+    private final boolean arrayParameter;
+
+    private final int priority;
+    private final int maxSize;
+    private final long maxDelayMs;
+    private final EventAction batchAction;
+
+    public BatchEventHandler(Object listenerParent, Method method, EventFilter[] eventFilters) {
+        this(listenerParent, EventActions.accessible(method), eventTypeOf(method),
+                method.getAnnotation(BatchListener.class), eventFilters);
+    }
+
+    private BatchEventHandler(Object listenerParent, Method method, Class<?> eventType, BatchListener listenerAnnotation,
+                              EventFilter[] eventFilters) {
+        this(listenerParent, method, eventType, listenerAnnotation.priority(), listenerAnnotation.maxSize(),
+                listenerAnnotation.maxDelayMs(), eventFilters, EventActions.create(method, listenerParent));
+    }
+
+    BatchEventHandler(Object listenerParent, Method method, Class<?> eventType, int priority, int maxSize,
+                      long maxDelayMs, EventFilter[] eventFilters, EventAction batchAction) {
+        this.listenerParent = listenerParent;
+        this.method = method;
+        this.eventFilters = eventFilters;
+        this.eventType = eventType;
+        this.arrayParameter = method.getParameterTypes()[0].isArray();
+        this.priority = priority;
+        this.maxSize = Math.max(1, maxSize);
+        this.maxDelayMs = Math.max(0L, maxDelayMs);
+        this.batchAction = batchAction;
+    }
+
+    public static boolean isBatchParameter(Method method) {
+        if (method.getParameterCount() != 1)
+            return false;
+        Class<?> parameterType = method.getParameterTypes()[0];
+        return (parameterType.isArray() && !parameterType.getComponentType().isPrimitive())
+                || (parameterType == List.class && method.getGenericParameterTypes()[0] instanceof ParameterizedType);
+    }
+
+    public static Class<?> eventTypeOf(Method method) {
+        Class<?> parameterType = method.getParameterTypes()[0];
+        if (parameterType.isArray())
+            return parameterType.getComponentType();
+
+        Type genericType = method.getGenericParameterTypes()[0];
+        if (genericType instanceof ParameterizedType) {
+            Type elementType = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+            if (elementType instanceof WildcardType)
+                elementType = ((WildcardType) elementType).getUpperBounds()[0];
+            if (elementType instanceof ParameterizedType)
+                elementType = ((ParameterizedType) elementType).getRawType();
+            if (elementType instanceof Class)
+                return (Class<?>) elementType;
+        }
+        return Object.class;
+    }
+
+    public <E> void handle(E event) {
+        this.handleBatch(Collections.singletonList(event));
+    }
+
+    public void handleBatch(List<?> events) {
+        try {
+            this.invokeBatch(events);
+        } catch (Throwable throwable) {
+            ExceptionHandler.PRINT_STACK_TRACE.handleException(throwable, this, events);
+        }
+    }
+
+    public EventAction getBatchAction() {
+        return events -> this.invokeBatch((List<?>) events);
+    }
+
+    private void invokeBatch(List<?> events) throws Throwable {
+        List<?> accepted = this.applyFilters(events);
+        if (accepted.isEmpty())
+            return;
+
+        this.batchAction.invoke(this.arrayParameter ? accepted.toArray(
+                (Object[]) Array.newInstance(this.eventType, accepted.size())) : accepted);
+    }
+
+    private List<?> applyFilters(List<?> events) {
+        if (this.eventFilters.length == 0)
+            return events;
+
+        List<Object> accepted = new ArrayList<>(events.size());
+        for (Object event : events) {
+            if (this.accepts(event))
+                accepted.add(event);
+        }
+        return accepted;
+    }
+
+    private boolean accepts(Object event) {
+        EventFilter[] filters = this.eventFilters;
+        for (int i = 0; i < filters.length; i++) {
+            if (!filters[i].test(this, event))
+                return false;
+        }
+        return true;
+    }
+
+    public Class<?> getEventType() {
+        return this.eventType;
+    }
+
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    public long getMaxDelayMs() {
+        return this.maxDelayMs;
+    }
+
+    public Object getListener() {
+        return this.method;
+    }
+
+    public int getPriority() {
+        return this.priority;
+    }
+
+    public boolean isAsync() {
+        return false;
+    }
+
+    public Iterable<EventFilter> getFilters() {
+        return Collections.unmodifiableList(Arrays.asList(this.eventFilters));
+    }
+
+    public int compareTo(EventHandler eventHandler) {
+        return Integer.compare(eventHandler.getPriority(), getPriority());
+    }
+}
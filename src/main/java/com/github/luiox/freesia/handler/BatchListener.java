@@ -0,0 +1,20 @@
+package com.github.luiox.freesia.handler;
+
+import com.github.luiox.freesia.filter.EventFilter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD})
+public @interface BatchListener {
+    Class<? extends EventFilter>[] filters() default {};
+
+    int priority() default 0;
+
+    int maxSize() default 512;
+
+    long maxDelayMs() default 5L;
+}
@@ -0,0 +1,26 @@
+package com.github.luiox.freesia.handler;
+
+import java.lang.ref.Reference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+public final class BindingHandlerScanner implements EventHandlerScanner {
+    private final EventHandlerScanner fallback;
+
+    public BindingHandlerScanner(EventHandlerScanner fallback) {
+        this.fallback = Objects.requireNonNull(fallback, "fallback");
+    }
+
+    public Map<Class<?>, Set<EventHandler>> locate(Object listenerContainer) {
+        ListenerBinding binding = ListenerBindings.find(listenerContainer.getClass());
+        if (binding == null)
+            return this.fallback.locate(listenerContainer);
+        return binding.bind(listenerContainer);
+    }
+
+    @Override
+    public Map<Class<?>, Set<EventHandler>> locateWeak(Object listenerContainer, Reference<?> listenerReference) {
+        return this.fallback.locateWeak(listenerContainer, listenerReference);
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.luiox.freesia.handler;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+final class EventActions {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType BOUND_FACTORY_TYPE = MethodType.methodType(EventAction.class, Object.class);
+
+    private EventActions() {
+    }
+
+    static Method accessible(Method method) {
+        if (!method.isAccessible())
+            method.setAccessible(true);
+        return method;
+    }
+
+    static EventAction create(Method targetMethod, Object target) {
+        return create(factory(targetMethod), target);
+    }
+
+    static EventAction create(MethodHandle factory, Object target) {
+        try {
+            if (factory.type().parameterCount() == 0)
+                return (EventAction) factory.invokeExact();
+            return (EventAction) factory.invokeExact(target);
+        } catch (Throwable throwable) {
+            throw new RuntimeException("Could not bind lambda event action to: " + target, throwable);
+        }
+    }
+
+    static ListenerInvoker invoker(Method targetMethod) {
+        try {
+            MethodHandle implementation = LOOKUP.unreflect(targetMethod);
+            CallSite callSite = LambdaMetafactory.metafactory(
+                    LOOKUP,
+                    "invoke",
+                    MethodType.methodType(ListenerInvoker.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    implementation,
+                    MethodType.methodType(void.class, targetMethod.getDeclaringClass(), targetMethod.getParameterTypes()[0])
+            );
+            return (ListenerInvoker) callSite.getTarget().invokeExact();
+        } catch (Throwable throwable) {
+            throw new RuntimeException("Could not create lambda listener invoker for method: " + targetMethod, throwable);
+        }
+    }
+
+    static MethodHandle factory(Method targetMethod) {
+        try {
+            MethodHandle implementation = LOOKUP.unreflect(targetMethod);
+            MethodType erasedSignature = MethodType.methodType(void.class, Object.class);
+            MethodType instantiatedSignature = MethodType.methodType(void.class, targetMethod.getParameterTypes()[0]);
+
+            MethodType factoryType;
+            CallSite callSite;
+            if (Modifier.isStatic(targetMethod.getModifiers())) {
+                factoryType = MethodType.methodType(EventAction.class);
+                callSite = LambdaMetafactory.metafactory(
+                        LOOKUP,
+                        "invoke",
+                        factoryType,
+                        erasedSignature,
+                        implementation,
+                        instantiatedSignature
+                );
+                return callSite.getTarget();
+            }
+
+            factoryType = MethodType.methodType(EventAction.class, targetMethod.getDeclaringClass());
+            callSite = LambdaMetafactory.metafactory(
+                    LOOKUP,
+                    "invoke",
+                    factoryType,
+                    erasedSignature,
+                    implementation,
+                    instantiatedSignature
+            );
+            return callSite.getTarget().asType(BOUND_FACTORY_TYPE);
+        } catch (Throwable throwable) {
+            throw new RuntimeException("Could not create lambda event action for method: " + targetMethod, throwable);
+        }
+    }
+}
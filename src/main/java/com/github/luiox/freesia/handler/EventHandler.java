@@ -1,6 +1,9 @@
 package com.github.luiox.freesia.handler;
 
 import com.github.luiox.freesia.filter.EventFilter;
+import com.github.luiox.freesia.filter.EventPredicate;
+
+import java.util.Collections;
 
 public interface EventHandler extends Comparable<EventHandler> {
     <E> void handle(E paramE);
@@ -12,4 +15,24 @@ public interface EventHandler extends Comparable<EventHandler> {
     boolean isAsync();
 
     Iterable<EventFilter> getFilters();
+
+    default Object getKey() {
+        return null;
+    }
+
+    default String getTarget() {
+        return null;
+    }
+
+    default Iterable<EventPredicate> getPredicates() {
+        return Collections.emptyList();
+    }
+
+    default EventAction getAction() {
+        return this::handle;
+    }
+
+    default EventAction getAdmittedAction() {
+        return this.getAction();
+    }
 }
\ No newline at end of file
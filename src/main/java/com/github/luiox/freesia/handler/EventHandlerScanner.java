@@ -1,8 +1,11 @@
 package com.github.luiox.freesia.handler;
 
+import java.lang.ref.Reference;
 import java.util.Map;
 import java.util.Set;
 
 public interface EventHandlerScanner {
     Map<Class<?>, Set<EventHandler>> locate(Object paramObject);
+
+    Map<Class<?>, Set<EventHandler>> locateWeak(Object listenerContainer, Reference<?> listenerReference);
 }
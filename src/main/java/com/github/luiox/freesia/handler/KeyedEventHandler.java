@@ -0,0 +1,67 @@
+package com.github.luiox.freesia.handler;
+
+import com.github.luiox.freesia.filter.EventFilter;
+import com.github.luiox.freesia.filter.EventPredicate;
+
+public final class KeyedEventHandler implements EventHandler {
+    private final EventHandler delegate;
+    private final Object key;
+
+    public KeyedEventHandler(EventHandler delegate, Object key) {
+        this.delegate = delegate;
+        this.key = key;
+    }
+
+    public EventHandler getDelegate() {
+        return this.delegate;
+    }
+
+    public <E> void handle(E event) {
+        this.delegate.handle(event);
+    }
+
+    @Override
+    public EventAction getAction() {
+        return this.delegate.getAction();
+    }
+
+    @Override
+    public EventAction getAdmittedAction() {
+        return this.delegate.getAdmittedAction();
+    }
+
+    @Override
+    public Object getKey() {
+        return this.key;
+    }
+
+    public Object getListener() {
+        return this.delegate.getListener();
+    }
+
+    public int getPriority() {
+        return this.delegate.getPriority();
+    }
+
+    public boolean isAsync() {
+        return this.delegate.isAsync();
+    }
+
+    public Iterable<EventFilter> getFilters() {
+        return this.delegate.getFilters();
+    }
+
+    @Override
+    public String getTarget() {
+        return this.delegate.getTarget();
+    }
+
+    @Override
+    public Iterable<EventPredicate> getPredicates() {
+        return this.delegate.getPredicates();
+    }
+
+    public int compareTo(EventHandler eventHandler) {
+        return Integer.compare(eventHandler.getPriority(), getPriority());
+    }
+}
@@ -15,4 +15,8 @@ public @interface Listener {
     int priority() default 0;
 
     boolean async() default false;
+
+    String key() default "";
+
+    String thread() default "";
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.github.luiox.freesia.handler;
+
+import java.util.Map;
+import java.util.Set;
+
+public interface ListenerBinding {
+    String SUFFIX = "$$ListenerBinding";
+
+    Map<Class<?>, Set<EventHandler>> bind(Object listenerContainer);
+}
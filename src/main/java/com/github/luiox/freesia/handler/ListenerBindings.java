@@ -0,0 +1,55 @@
+package com.github.luiox.freesia.handler;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+public final class ListenerBindings {
+    private static final ListenerBinding NONE = listenerContainer -> null;
+
+    private static final ClassValue<ListenerBinding> BINDINGS = new ClassValue<ListenerBinding>() {
+        @Override
+        protected ListenerBinding computeValue(Class<?> type) {
+            return load(type);
+        }
+    };
+
+    private ListenerBindings() {
+    }
+
+    public static ListenerBinding find(Class<?> listenerType) {
+        ListenerBinding binding = BINDINGS.get(listenerType);
+        return binding == NONE ? null : binding;
+    }
+
+    public static Method method(Class<?> listenerType, String name, Class<?> eventType) {
+        try {
+            return listenerType.getDeclaredMethod(name, eventType);
+        } catch (NoSuchMethodException exception) {
+            throw new IllegalStateException("Stale listener binding for " + listenerType.getName() + "#" + name,
+                    exception);
+        }
+    }
+
+    public static void add(Map<Class<?>, Set<EventHandler>> eventHandlers, Class<?> eventType,
+                           EventHandler eventHandler) {
+        eventHandlers.computeIfAbsent(eventType, key -> new LinkedHashSet<>()).add(eventHandler);
+    }
+
+    private static ListenerBinding load(Class<?> listenerType) {
+        Class<?> bindingType;
+        try {
+            bindingType = Class.forName(listenerType.getName() + ListenerBinding.SUFFIX, true,
+                    listenerType.getClassLoader());
+        } catch (ClassNotFoundException exception) {
+            return NONE;
+        }
+
+        try {
+            return (ListenerBinding) bindingType.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException exception) {
+            throw new IllegalStateException("Could not load listener binding: " + bindingType.getName(), exception);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.github.luiox.freesia.handler;
+
+@FunctionalInterface
+interface ListenerInvoker {
+    void invoke(Object target, Object event) throws Throwable;
+}
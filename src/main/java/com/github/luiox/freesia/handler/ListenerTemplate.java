@@ -0,0 +1,86 @@
+package com.github.luiox.freesia.handler;
+
+import com.github.luiox.freesia.filter.EventFilter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.ref.Reference;
+import java.lang.reflect.Method;
+
+final class ListenerTemplate {
+    private final Method method;
+    private final Class<?> eventType;
+    private final EventFilter[] eventFilters;
+    private final MethodHandle actionFactory;
+    private final EventAction staticAction;
+    private final BatchListener batchListener;
+    private final int priority;
+    private final boolean async;
+    private final Object key;
+    private final String target;
+    private volatile ListenerInvoker invoker;
+
+    ListenerTemplate(Method method, EventFilter[] eventFilters) {
+        this.method = EventActions.accessible(method);
+        this.eventFilters = eventFilters;
+        this.batchListener = method.getAnnotation(BatchListener.class);
+        if (this.batchListener != null) {
+            this.eventType = BatchEventHandler.eventTypeOf(method);
+            this.priority = this.batchListener.priority();
+            this.async = false;
+            this.key = null;
+            this.target = null;
+        } else {
+            Listener listener = method.getAnnotation(Listener.class);
+            this.eventType = method.getParameterTypes()[0];
+            this.priority = listener.priority();
+            this.async = listener.async();
+            this.key = MethodEventHandler.keyOf(listener);
+            this.target = MethodEventHandler.targetOf(listener);
+        }
+        this.actionFactory = EventActions.factory(method);
+        this.staticAction = this.actionFactory.type().parameterCount() == 0
+                ? EventActions.create(this.actionFactory, null) : null;
+    }
+
+    EventHandler bind(Object listenerContainer) {
+        EventAction action = this.staticAction != null ? this.staticAction
+                : EventActions.create(this.actionFactory, listenerContainer);
+        return this.newHandler(listenerContainer, action);
+    }
+
+    EventHandler bindWeak(Reference<?> listenerReference) {
+        ListenerInvoker invoker = this.invoker();
+        return this.newHandler(null, event -> {
+            Object target = listenerReference.get();
+            if (target != null)
+                invoker.invoke(target, event);
+        });
+    }
+
+    private EventHandler newHandler(Object listenerContainer, EventAction action) {
+        if (this.batchListener != null)
+            return new BatchEventHandler(listenerContainer, this.method, this.eventType, this.priority,
+                    this.batchListener.maxSize(), this.batchListener.maxDelayMs(), this.eventFilters, action);
+        return new MethodEventHandler(listenerContainer, this.method, this.priority, this.async, this.eventFilters,
+                action, this.key, this.target);
+    }
+
+    private ListenerInvoker invoker() {
+        ListenerInvoker invoker = this.invoker;
+        if (invoker == null) {
+            EventAction staticAction = this.staticAction;
+            invoker = staticAction != null ? (target, event) -> staticAction.invoke(event)
+                    : EventActions.invoker(this.method);
+            this.invoker = invoker;
+        }
+        return invoker;
+    }
+
+    Class<?> getEventType() {
+        return this.eventType;
+    }
+
+    int getPriority() {
+        return this.priority;
+    }
+}
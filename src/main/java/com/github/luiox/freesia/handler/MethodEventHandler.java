@@ -1,81 +1,105 @@
 package com.github.luiox.freesia.handler;
 
 import com.github.luiox.freesia.filter.EventFilter;
+import com.github.luiox.freesia.filter.EventPredicate;
 
-import java.lang.invoke.CallSite;
-import java.lang.invoke.LambdaMetafactory;
-import java.lang.invoke.MethodHandle;
-import java.lang.invoke.MethodHandles;
-import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-import java.util.Set;
+import java.util.Arrays;
+import java.util.Collections;
 
 public final class MethodEventHandler implements EventHandler {
-    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final EventFilter[] NO_FILTERS = new EventFilter[0];
+    private static final EventPredicate[] NO_PREDICATES = new EventPredicate[0];
+
     private final Object listenerParent;
     private final Method method;
-    private final Set<EventFilter> eventFilters;
+    private final EventFilter[] eventFilters;
+    private final EventPredicate[] predicates;
+    private final EventFilter[] residualFilters;
 
-    private final Listener listenerAnnotation;
+    private final int priority;
+    private final boolean async;
+    private final Object key;
+    private final String target;
     private final EventAction eventAction;
+    private final EventAction filteredAction;
+    private final EventAction admittedAction;
+
+    public MethodEventHandler(Object listenerParent, Method method, EventFilter[] eventFilters) {
+        this(listenerParent, EventActions.accessible(method), method.getAnnotation(Listener.class), eventFilters);
+    }
+
+    private MethodEventHandler(Object listenerParent, Method method, Listener listenerAnnotation,
+                               EventFilter[] eventFilters) {
+        this(listenerParent, method, listenerAnnotation.priority(), listenerAnnotation.async(), eventFilters,
+                EventActions.create(method, listenerParent), keyOf(listenerAnnotation), targetOf(listenerAnnotation));
+    }
+
+    public MethodEventHandler(Object listenerParent, Method method, int priority, boolean async,
+                              EventFilter[] eventFilters, EventAction eventAction) {
+        this(listenerParent, method, priority, async, eventFilters, eventAction, null, null);
+    }
 
-    public MethodEventHandler(Object listenerParent, Method method, Set<EventFilter> eventFilters) {
+    public MethodEventHandler(Object listenerParent, Method method, int priority, boolean async,
+                              EventFilter[] eventFilters, EventAction eventAction, Object key, String target) {
         this.listenerParent = listenerParent;
-        if (!method.isAccessible())
-            method.setAccessible(true);
         this.method = method;
-        this.eventFilters = eventFilters;
-        this.listenerAnnotation = method.getAnnotation(Listener.class);
-        this.eventAction = this.createEventAction(method, listenerParent);
+        this.eventFilters = eventFilters == null ? NO_FILTERS : eventFilters;
+        int leading = 0;
+        while (leading < this.eventFilters.length && this.eventFilters[leading] instanceof EventPredicate)
+            leading++;
+        this.predicates = leading == 0 ? NO_PREDICATES
+                : Arrays.copyOf(this.eventFilters, leading, EventPredicate[].class);
+        this.residualFilters = leading == 0 ? this.eventFilters
+                : Arrays.copyOfRange(this.eventFilters, leading, this.eventFilters.length);
+        this.priority = priority;
+        this.async = async || target != null;
+        this.key = key;
+        this.target = target;
+        this.eventAction = eventAction;
+        this.filteredAction = this.eventFilters.length == 0 ? eventAction : event -> {
+            if (this.accepts(this.eventFilters, event))
+                this.eventAction.invoke(event);
+        };
+        this.admittedAction = leading == 0 ? this.filteredAction : this.residualFilters.length == 0 ? eventAction
+                : event -> {
+            if (this.accepts(this.residualFilters, event))
+                this.eventAction.invoke(event);
+        };
+    }
+
+    static Object keyOf(Listener listenerAnnotation) {
+        return listenerAnnotation.key().isEmpty() ? null : listenerAnnotation.key();
+    }
+
+    static String targetOf(Listener listenerAnnotation) {
+        return listenerAnnotation.thread().isEmpty() ? null : listenerAnnotation.thread();
     }
 
     public <E> void handle(E event) {
-        for (EventFilter filter : this.eventFilters) {
-            if (!filter.test(this, event))
-                return;
-        }
         try {
-            this.eventAction.invoke(event);
+            this.filteredAction.invoke(event);
         } catch (Throwable e) {
             e.printStackTrace();
         }
     }
 
-    private EventAction createEventAction(Method targetMethod, Object target) {
-        try {
-            MethodHandle implementation = LOOKUP.unreflect(targetMethod);
-            MethodType erasedSignature = MethodType.methodType(void.class, Object.class);
-            MethodType instantiatedSignature = MethodType.methodType(void.class, targetMethod.getParameterTypes()[0]);
-
-            MethodType factoryType;
-            CallSite callSite;
-            if (Modifier.isStatic(targetMethod.getModifiers())) {
-                factoryType = MethodType.methodType(EventAction.class);
-                callSite = LambdaMetafactory.metafactory(
-                        LOOKUP,
-                        "invoke",
-                        factoryType,
-                        erasedSignature,
-                        implementation,
-                        instantiatedSignature
-                );
-                return (EventAction) callSite.getTarget().invokeExact();
-            }
-
-            factoryType = MethodType.methodType(EventAction.class, targetMethod.getDeclaringClass());
-            callSite = LambdaMetafactory.metafactory(
-                    LOOKUP,
-                    "invoke",
-                    factoryType,
-                    erasedSignature,
-                    implementation,
-                    instantiatedSignature
-            );
-            return (EventAction) callSite.getTarget().invoke(target);
-        } catch (Throwable throwable) {
-            throw new RuntimeException("Could not create lambda event action for method: " + targetMethod, throwable);
+    @Override
+    public EventAction getAction() {
+        return this.filteredAction;
+    }
+
+    @Override
+    public EventAction getAdmittedAction() {
+        return this.admittedAction;
+    }
+
+    private boolean accepts(EventFilter[] filters, Object event) {
+        for (int i = 0; i < filters.length; i++) {
+            if (!filters[i].test(this, event))
+                return false;
         }
+        return true;
     }
 
     public Object getListener() {
@@ -83,15 +107,30 @@ public final class MethodEventHandler implements EventHandler {
     }
 
     public int getPriority() {
-        return this.listenerAnnotation.priority();
+        return this.priority;
     }
 
     public boolean isAsync() {
-        return this.listenerAnnotation.async();
+        return this.async;
     }
 
     public Iterable<EventFilter> getFilters() {
-        return this.eventFilters;
+        return Collections.unmodifiableList(Arrays.asList(this.eventFilters));
+    }
+
+    @Override
+    public Object getKey() {
+        return this.key;
+    }
+
+    @Override
+    public String getTarget() {
+        return this.target;
+    }
+
+    @Override
+    public Iterable<EventPredicate> getPredicates() {
+        return Collections.unmodifiableList(Arrays.asList(this.predicates));
     }
 
     public int compareTo(EventHandler eventHandler) {
@@ -3,25 +3,52 @@ package com.github.luiox.freesia.handler;
 import com.github.luiox.freesia.filter.EventFilterScanner;
 import com.github.luiox.freesia.filter.MethodFilterScanner;
 
+import java.lang.ref.Reference;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
-import java.util.stream.Stream;
 
 public final class MethodHandlerScanner implements EventHandlerScanner {
-    private final AnnotatedListenerPredicate annotatedListenerPredicate = new AnnotatedListenerPredicate();
+    private static final AnnotatedListenerPredicate ANNOTATED_LISTENER_PREDICATE = new AnnotatedListenerPredicate();
 
-    private final EventFilterScanner<Method> filterScanner = new MethodFilterScanner();
+    private static final EventFilterScanner<Method> FILTER_SCANNER = new MethodFilterScanner();
+
+    private static final ClassValue<ListenerTemplate[]> TEMPLATES = new ClassValue<ListenerTemplate[]>() {
+        @Override
+        protected ListenerTemplate[] computeValue(Class<?> type) {
+            List<ListenerTemplate> templates = new ArrayList<>();
+            for (Method method : type.getDeclaredMethods()) {
+                if (ANNOTATED_LISTENER_PREDICATE.test(method))
+                    templates.add(new ListenerTemplate(method, FILTER_SCANNER.scan(method)));
+            }
+            templates.sort(Comparator.comparingInt(ListenerTemplate::getPriority).reversed());
+            return templates.toArray(new ListenerTemplate[0]);
+        }
+    };
 
     public Map<Class<?>, Set<EventHandler>> locate(Object listenerContainer) {
+        ListenerTemplate[] templates = TEMPLATES.get(listenerContainer.getClass());
+        HashMap<Class<?>, Set<EventHandler>> eventHandlers = new HashMap<>();
+        for (ListenerTemplate template : templates) {
+            eventHandlers.computeIfAbsent(template.getEventType(), obj -> new LinkedHashSet<>())
+                    .add(template.bind(listenerContainer));
+        }
+        return eventHandlers;
+    }
+
+    @Override
+    public Map<Class<?>, Set<EventHandler>> locateWeak(Object listenerContainer, Reference<?> listenerReference) {
+        ListenerTemplate[] templates = TEMPLATES.get(listenerContainer.getClass());
         HashMap<Class<?>, Set<EventHandler>> eventHandlers = new HashMap<>();
-        Stream.of(listenerContainer.getClass().getDeclaredMethods())
-                .filter(this.annotatedListenerPredicate)
-                .forEach(method -> eventHandlers.computeIfAbsent(method.getParameterTypes()[0],
-                                obj -> new TreeSet<>())
-                        .add(new MethodEventHandler(listenerContainer, method, this.filterScanner.scan(method))));
+        for (ListenerTemplate template : templates) {
+            eventHandlers.computeIfAbsent(template.getEventType(), obj -> new LinkedHashSet<>())
+                    .add(template.bindWeak(listenerReference));
+        }
         return eventHandlers;
     }
-}
\ No newline at end of file
+}
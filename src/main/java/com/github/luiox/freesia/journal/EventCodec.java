@@ -0,0 +1,7 @@
+package com.github.luiox.freesia.journal;
+
+public interface EventCodec {
+    byte[] encode(Object event);
+
+    Object decode(byte[] payload);
+}
@@ -0,0 +1,341 @@
+package com.github.luiox.freesia.journal;
+
+import com.github.luiox.freesia.async.RingBuffer;
+import com.github.luiox.freesia.async.WaitStrategy;
+import com.github.luiox.freesia.failure.ExceptionHandler;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+public final class EventJournal implements AutoCloseable {
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final int HEADER_SIZE = 16;
+    private static final int BATCH_SIZE = 1024;
+    private static final String SUFFIX = ".journal";
+
+    private final Path directory;
+    private final EventCodec codec;
+    private final int segmentSize;
+    private final ExceptionHandler exceptionHandler;
+    private final RingBuffer<Slot> ringBuffer;
+    private final Consumer<Slot> write = this::write;
+    private final WaitStrategy waitStrategy = WaitStrategy.parking(100_000L);
+    private final CRC32 crc = new CRC32();
+    private final List<Barrier> pendingBarriers = new ArrayList<>();
+    private final LongAdder skippedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final Thread flusher;
+    private volatile boolean running = true;
+    private volatile long lastSequence;
+    private Throwable unreportedFailure;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private boolean dirty;
+
+    private EventJournal(Path directory, EventCodec codec, int segmentSize, int capacity,
+                         ExceptionHandler exceptionHandler) throws IOException {
+        this.directory = directory;
+        this.codec = codec;
+        this.segmentSize = segmentSize;
+        this.exceptionHandler = exceptionHandler;
+        this.ringBuffer = new RingBuffer<>(capacity, Slot::new);
+        this.recover();
+        this.flusher = new Thread(this::run, "freesia-journal");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    public static EventJournal open(Path directory, EventCodec codec) throws IOException {
+        return open(directory, codec, DEFAULT_SEGMENT_SIZE, DEFAULT_CAPACITY);
+    }
+
+    public static EventJournal open(Path directory, EventCodec codec, int segmentSize, int capacity)
+            throws IOException {
+        return open(directory, codec, segmentSize, capacity, ExceptionHandler.PRINT_STACK_TRACE);
+    }
+
+    public static EventJournal open(Path directory, EventCodec codec, int segmentSize, int capacity,
+                                    ExceptionHandler exceptionHandler) throws IOException {
+        Objects.requireNonNull(directory, "directory");
+        Objects.requireNonNull(codec, "codec");
+        Objects.requireNonNull(exceptionHandler, "exceptionHandler");
+        if (segmentSize <= HEADER_SIZE)
+            throw new IllegalArgumentException("segmentSize must exceed the record header: " + segmentSize);
+        Files.createDirectories(directory);
+        return new EventJournal(directory, codec, segmentSize, capacity, exceptionHandler);
+    }
+
+    public void append(Object event) {
+        Objects.requireNonNull(event, "event");
+        byte[] payload = this.codec.encode(event);
+        if (payload == null) {
+            this.skippedCount.increment();
+            return;
+        }
+
+        if (HEADER_SIZE + payload.length > this.segmentSize)
+            throw new IllegalArgumentException("Encoded " + event.getClass().getName() + " exceeds the segment size");
+        this.publish(event, payload, null);
+    }
+
+    public void flush() {
+        Barrier barrier = new Barrier();
+        this.publish(null, null, barrier);
+        try {
+            barrier.latch.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        if (barrier.failure != null)
+            throw new IllegalStateException("Journal write failed", barrier.failure);
+    }
+
+    public long lastSequence() {
+        return this.lastSequence;
+    }
+
+    public long getSkippedCount() {
+        return this.skippedCount.sum();
+    }
+
+    public long getFailedCount() {
+        return this.failedCount.sum();
+    }
+
+    public long replay(long fromSequence, long toSequence, Consumer<Object> consumer) throws IOException {
+        Objects.requireNonNull(consumer, "consumer");
+        long last = Math.min(toSequence, this.lastSequence);
+        List<Long> bases = this.segments();
+        long replayed = 0L;
+        for (int i = 0; i < bases.size() && fromSequence <= last; i++) {
+            if (i + 1 < bases.size() && bases.get(i + 1) <= fromSequence)
+                continue;
+
+            MappedByteBuffer buffer = this.mapReadOnly(bases.get(i));
+            long sequence = bases.get(i);
+            int position = 0;
+            byte[] payload;
+            while (sequence <= last && (payload = this.payload(buffer, position, sequence)) != null) {
+                if (sequence >= fromSequence) {
+                    consumer.accept(this.codec.decode(payload));
+                    replayed++;
+                }
+                position += HEADER_SIZE + payload.length;
+                sequence++;
+            }
+            fromSequence = Math.max(fromSequence, sequence);
+        }
+        return replayed;
+    }
+
+    @Override
+    public void close() {
+        if (!this.running)
+            return;
+
+        this.running = false;
+        try {
+            this.flusher.join();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void publish(Object event, byte[] payload, Barrier barrier) {
+        if (!this.running)
+            throw new IllegalStateException("Journal has been closed");
+
+        long sequence = this.ringBuffer.next();
+        Slot slot = this.ringBuffer.get(sequence);
+        slot.event = event;
+        slot.payload = payload;
+        slot.barrier = barrier;
+        this.ringBuffer.publish(sequence);
+    }
+
+    private void run() {
+        int idleCount = 0;
+        while (this.running || !this.ringBuffer.isEmpty()) {
+            if (this.ringBuffer.poll(this.write, BATCH_SIZE) > 0) {
+                this.commit();
+                idleCount = 0;
+            } else {
+                this.waitStrategy.idle(idleCount);
+                if (idleCount < Integer.MAX_VALUE)
+                    idleCount++;
+            }
+        }
+        this.commit();
+        try {
+            this.channel.close();
+        } catch (IOException exception) {
+            this.exceptionHandler.handleException(exception, null, null);
+        }
+    }
+
+    private void write(Slot slot) {
+        Object event = slot.event;
+        byte[] payload = slot.payload;
+        Barrier barrier = slot.barrier;
+        slot.event = null;
+        slot.payload = null;
+        slot.barrier = null;
+        if (barrier != null) {
+            barrier.failure = this.unreportedFailure;
+            this.unreportedFailure = null;
+            this.pendingBarriers.add(barrier);
+            return;
+        }
+
+        try {
+            this.writeRecord(payload);
+        } catch (Throwable throwable) {
+            this.fail(throwable, event);
+        }
+    }
+
+    private void writeRecord(byte[] payload) throws IOException {
+        int length = HEADER_SIZE + payload.length;
+        if (this.segment.remaining() < length)
+            this.roll();
+
+        long sequence = this.lastSequence + 1;
+        this.crc.reset();
+        this.crc.update(payload, 0, payload.length);
+        int position = this.segment.position();
+        this.segment.putInt(position + 4, (int) this.crc.getValue());
+        this.segment.putLong(position + 8, sequence);
+        ((Buffer) this.segment).position(position + HEADER_SIZE);
+        this.segment.put(payload);
+        this.segment.putInt(position, length);
+        this.dirty = true;
+        this.lastSequence = sequence;
+    }
+
+    private void commit() {
+        if (this.dirty) {
+            this.dirty = false;
+            try {
+                this.segment.force();
+            } catch (Throwable throwable) {
+                this.exceptionHandler.handleException(throwable, null, null);
+                if (this.pendingBarriers.isEmpty() && this.unreportedFailure == null)
+                    this.unreportedFailure = throwable;
+                for (Barrier barrier : this.pendingBarriers) {
+                    if (barrier.failure == null)
+                        barrier.failure = throwable;
+                }
+            }
+        }
+        for (Barrier barrier : this.pendingBarriers)
+            barrier.latch.countDown();
+        this.pendingBarriers.clear();
+    }
+
+    private void fail(Throwable failure, Object event) {
+        this.failedCount.increment();
+        if (this.unreportedFailure == null)
+            this.unreportedFailure = failure;
+        this.exceptionHandler.handleException(failure, null, event);
+    }
+
+    private void roll() throws IOException {
+        this.segment.force();
+        this.channel.close();
+        this.open(this.lastSequence + 1);
+    }
+
+    private void recover() throws IOException {
+        List<Long> bases = this.segments();
+        if (bases.isEmpty()) {
+            this.lastSequence = -1L;
+            this.open(0L);
+            return;
+        }
+
+        long base = bases.get(bases.size() - 1);
+        this.open(base);
+        long sequence = base;
+        int position = 0;
+        byte[] payload;
+        while ((payload = this.payload(this.segment, position, sequence)) != null) {
+            position += HEADER_SIZE + payload.length;
+            sequence++;
+        }
+        ((Buffer) this.segment).position(position);
+        this.lastSequence = sequence - 1;
+    }
+
+    private void open(long base) throws IOException {
+        this.channel = FileChannel.open(this.pathOf(base), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.segment = this.channel.map(FileChannel.MapMode.READ_WRITE, 0L, this.segmentSize);
+    }
+
+    private MappedByteBuffer mapReadOnly(long base) throws IOException {
+        try (FileChannel channel = FileChannel.open(this.pathOf(base), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+        }
+    }
+
+    private byte[] payload(ByteBuffer buffer, int position, long sequence) {
+        if (position + HEADER_SIZE > buffer.limit())
+            return null;
+
+        int length = buffer.getInt(position);
+        if (length < HEADER_SIZE || length > buffer.limit() - position || buffer.getLong(position + 8) != sequence)
+            return null;
+
+        byte[] payload = new byte[length - HEADER_SIZE];
+        ByteBuffer view = buffer.duplicate();
+        ((Buffer) view).position(position + HEADER_SIZE);
+        view.get(payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        return (int) crc.getValue() == buffer.getInt(position + 4) ? payload : null;
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(this.directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SUFFIX.length())))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Path pathOf(long base) {
+        return this.directory.resolve(String.format("%020d%s", base, SUFFIX));
+    }
+
+    private static final class Slot {
+        private Object event;
+        private byte[] payload;
+        private Barrier barrier;
+    }
+
+    private static final class Barrier {
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private Throwable failure;
+    }
+}
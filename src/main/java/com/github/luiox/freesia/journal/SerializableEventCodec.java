@@ -0,0 +1,36 @@
+package com.github.luiox.freesia.journal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+
+public final class SerializableEventCodec implements EventCodec {
+    @Override
+    public byte[] encode(Object event) {
+        if (!(event instanceof Serializable))
+            return null;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(event);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public Object decode(byte[] payload) {
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+            return input.readObject();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } catch (ClassNotFoundException exception) {
+            throw new IllegalStateException("Unknown journaled event type", exception);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.github.luiox.freesia.metrics;
+
+import com.github.luiox.freesia.handler.EventHandler;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class DefaultEventMetrics implements EventMetrics, EventMetricsMXBean {
+    public static final String DOMAIN = "com.github.luiox.freesia";
+
+    private final Map<Class<?>, PostStats> postStats = new ConcurrentHashMap<>();
+    private final Map<Object, HandlerStats> handlerStats = new ConcurrentHashMap<>();
+    private final long slowThresholdNanos;
+    private final SlowListenerCallback slowListenerCallback;
+    private volatile long startNanos = System.nanoTime();
+
+    public DefaultEventMetrics() {
+        this(Long.MAX_VALUE, TimeUnit.NANOSECONDS, null);
+    }
+
+    public DefaultEventMetrics(long slowThreshold, TimeUnit unit, SlowListenerCallback slowListenerCallback) {
+        if (slowThreshold <= 0L)
+            throw new IllegalArgumentException("slowThreshold must be positive: " + slowThreshold);
+        this.slowThresholdNanos = unit.toNanos(slowThreshold);
+        this.slowListenerCallback = slowListenerCallback;
+    }
+
+    @Override
+    public EventTypeRecorder eventType(Class<?> eventType) {
+        return this.postStats.computeIfAbsent(eventType, key -> new PostStats());
+    }
+
+    @Override
+    public HandlerRecorder handler(EventHandler eventHandler) {
+        HandlerStats stats = this.handlerStats.computeIfAbsent(eventHandler.getListener(),
+                listener -> new HandlerStats(nameOf(listener)));
+        SlowListenerCallback callback = this.slowListenerCallback;
+        long threshold = this.slowThresholdNanos;
+        return (event, durationNanos, failure) -> {
+            stats.record(durationNanos, failure);
+            if (callback != null && durationNanos >= threshold)
+                callback.onSlowListener(eventHandler, event, durationNanos);
+        };
+    }
+
+    public long getPostCount(Class<?> eventType) {
+        PostStats stats = this.postStats.get(eventType);
+        return stats == null ? 0L : stats.posts.sum();
+    }
+
+    public LatencyHistogram getLatencyHistogram(Object listener) {
+        HandlerStats stats = this.handlerStats.get(listener);
+        return stats == null ? null : stats.latency;
+    }
+
+    @Override
+    public Map<String, Long> getPostCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        this.postStats.forEach((eventType, stats) -> counts.put(eventType.getName(), stats.posts.sum()));
+        return counts;
+    }
+
+    @Override
+    public Map<String, Double> getPostRates() {
+        double seconds = Math.max(1L, System.nanoTime() - this.startNanos) / 1_000_000_000.0;
+        Map<String, Double> rates = new TreeMap<>();
+        this.postStats.forEach((eventType, stats) -> rates.put(eventType.getName(), stats.posts.sum() / seconds));
+        return rates;
+    }
+
+    @Override
+    public List<HandlerSnapshot> getHandlerSnapshots() {
+        List<HandlerSnapshot> snapshots = new ArrayList<>();
+        for (HandlerStats stats : this.handlerStats.values())
+            snapshots.add(stats.snapshot());
+        snapshots.sort((left, right) -> left.getName().compareTo(right.getName()));
+        return snapshots;
+    }
+
+    @Override
+    public void reset() {
+        this.postStats.values().forEach(stats -> stats.posts.reset());
+        this.handlerStats.values().forEach(HandlerStats::reset);
+        this.startNanos = System.nanoTime();
+    }
+
+    public ObjectName registerMBean(String name) {
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=EventMetrics,name=" + ObjectName.quote(name));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException exception) {
+            throw new IllegalStateException("Could not register event metrics MBean: " + name, exception);
+        }
+    }
+
+    private static String nameOf(Object listener) {
+        if (listener instanceof Method) {
+            Method method = (Method) listener;
+            return method.getDeclaringClass().getName() + "#" + method.getName();
+        }
+        return String.valueOf(listener);
+    }
+
+    private static final class PostStats implements EventTypeRecorder {
+        private final LongAdder posts = new LongAdder();
+
+        @Override
+        public void onPost(int events) {
+            this.posts.add(events);
+        }
+    }
+
+    private static final class HandlerStats {
+        private final String name;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder exceptions = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private HandlerStats(String name) {
+            this.name = name;
+        }
+
+        private void record(long durationNanos, Throwable failure) {
+            this.invocations.increment();
+            if (failure != null)
+                this.exceptions.increment();
+            this.latency.record(durationNanos);
+        }
+
+        private void reset() {
+            this.invocations.reset();
+            this.exceptions.reset();
+            this.latency.reset();
+        }
+
+        private HandlerSnapshot snapshot() {
+            return new HandlerSnapshot(this.name, this.invocations.sum(), this.exceptions.sum(),
+                    this.latency.getMean(), this.latency.getValueAtPercentile(50.0),
+                    this.latency.getValueAtPercentile(99.0), this.latency.getValueAtPercentile(99.9),
+                    this.latency.getMax());
+        }
+    }
+}
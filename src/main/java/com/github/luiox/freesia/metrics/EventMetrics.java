@@ -0,0 +1,9 @@
+package com.github.luiox.freesia.metrics;
+
+import com.github.luiox.freesia.handler.EventHandler;
+
+public interface EventMetrics {
+    EventTypeRecorder eventType(Class<?> eventType);
+
+    HandlerRecorder handler(EventHandler eventHandler);
+}
@@ -0,0 +1,14 @@
+package com.github.luiox.freesia.metrics;
+
+import java.util.List;
+import java.util.Map;
+
+public interface EventMetricsMXBean {
+    Map<String, Long> getPostCounts();
+
+    Map<String, Double> getPostRates();
+
+    List<HandlerSnapshot> getHandlerSnapshots();
+
+    void reset();
+}
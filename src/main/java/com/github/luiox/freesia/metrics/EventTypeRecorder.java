@@ -0,0 +1,6 @@
+package com.github.luiox.freesia.metrics;
+
+@FunctionalInterface
+public interface EventTypeRecorder {
+    void onPost(int events);
+}
@@ -0,0 +1,6 @@
+package com.github.luiox.freesia.metrics;
+
+@FunctionalInterface
+public interface HandlerRecorder {
+    void onInvocation(Object event, long durationNanos, Throwable failure);
+}
@@ -0,0 +1,56 @@
+package com.github.luiox.freesia.metrics;
+
+public final class HandlerSnapshot {
+    private final String name;
+    private final long invocations;
+    private final long exceptions;
+    private final double meanNanos;
+    private final long p50Nanos;
+    private final long p99Nanos;
+    private final long p999Nanos;
+    private final long maxNanos;
+
+    public HandlerSnapshot(String name, long invocations, long exceptions, double meanNanos,
+                           long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+        this.name = name;
+        this.invocations = invocations;
+        this.exceptions = exceptions;
+        this.meanNanos = meanNanos;
+        this.p50Nanos = p50Nanos;
+        this.p99Nanos = p99Nanos;
+        this.p999Nanos = p999Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public long getInvocations() {
+        return this.invocations;
+    }
+
+    public long getExceptions() {
+        return this.exceptions;
+    }
+
+    public double getMeanNanos() {
+        return this.meanNanos;
+    }
+
+    public long getP50Nanos() {
+        return this.p50Nanos;
+    }
+
+    public long getP99Nanos() {
+        return this.p99Nanos;
+    }
+
+    public long getP999Nanos() {
+        return this.p999Nanos;
+    }
+
+    public long getMaxNanos() {
+        return this.maxNanos;
+    }
+}
@@ -0,0 +1,89 @@
+package com.github.luiox.freesia.metrics;
+
+import com.github.luiox.freesia.filter.EventFilter;
+import com.github.luiox.freesia.filter.EventPredicate;
+import com.github.luiox.freesia.handler.EventAction;
+import com.github.luiox.freesia.handler.EventHandler;
+
+public final class InstrumentedEventHandler implements EventHandler {
+    private final EventHandler delegate;
+    private final EventAction action;
+    private final EventAction admittedAction;
+
+    public InstrumentedEventHandler(EventHandler delegate, HandlerRecorder recorder) {
+        this.delegate = delegate;
+        this.action = record(delegate.getAction(), recorder);
+        this.admittedAction = delegate.getAdmittedAction() == delegate.getAction() ? this.action
+                : record(delegate.getAdmittedAction(), recorder);
+    }
+
+    public static EventAction record(EventAction delegateAction, HandlerRecorder recorder) {
+        return event -> {
+            long start = System.nanoTime();
+            try {
+                delegateAction.invoke(event);
+            } catch (Throwable throwable) {
+                recorder.onInvocation(event, System.nanoTime() - start, throwable);
+                throw throwable;
+            }
+            recorder.onInvocation(event, System.nanoTime() - start, null);
+        };
+    }
+
+    public EventHandler getDelegate() {
+        return this.delegate;
+    }
+
+    public <E> void handle(E event) {
+        try {
+            this.action.invoke(event);
+        } catch (Throwable e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public EventAction getAction() {
+        return this.action;
+    }
+
+    @Override
+    public EventAction getAdmittedAction() {
+        return this.admittedAction;
+    }
+
+    public Object getListener() {
+        return this.delegate.getListener();
+    }
+
+    public int getPriority() {
+        return this.delegate.getPriority();
+    }
+
+    public boolean isAsync() {
+        return this.delegate.isAsync();
+    }
+
+    public Iterable<EventFilter> getFilters() {
+        return this.delegate.getFilters();
+    }
+
+    @Override
+    public Object getKey() {
+        return this.delegate.getKey();
+    }
+
+    @Override
+    public String getTarget() {
+        return this.delegate.getTarget();
+    }
+
+    @Override
+    public Iterable<EventPredicate> getPredicates() {
+        return this.delegate.getPredicates();
+    }
+
+    public int compareTo(EventHandler eventHandler) {
+        return Integer.compare(eventHandler.getPriority(), getPriority());
+    }
+}
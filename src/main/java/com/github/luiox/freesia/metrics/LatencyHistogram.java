@@ -0,0 +1,108 @@
+package com.github.luiox.freesia.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_MAGNITUDE = 40;
+    private static final int BUCKET_COUNT = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+    private static final long MAX_TRACKABLE = (1L << (MAX_MAGNITUDE + 1)) - 1;
+    private static final int MAX_STRIPES = 4;
+
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public LatencyHistogram() {
+        int stripeCount = Math.min(MAX_STRIPES, Integer.highestOneBit(Runtime.getRuntime().availableProcessors()));
+        this.stripes = new AtomicLongArray[stripeCount];
+        for (int i = 0; i < stripeCount; i++)
+            this.stripes[i] = new AtomicLongArray(BUCKET_COUNT);
+        this.stripeMask = stripeCount - 1;
+    }
+
+    public void record(long valueNanos) {
+        long value = Math.max(0L, valueNanos);
+        this.stripes[(int) (Thread.currentThread().getId() & this.stripeMask)].incrementAndGet(bucketOf(value));
+        this.count.increment();
+        this.sum.add(value);
+
+        long currentMax;
+        while (value > (currentMax = this.max.get()) && !this.max.compareAndSet(currentMax, value)) {
+        }
+    }
+
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    public long getMax() {
+        return this.max.get();
+    }
+
+    public double getMean() {
+        long total = this.count.sum();
+        return total == 0L ? 0.0 : (double) this.sum.sum() / total;
+    }
+
+    public long getValueAtPercentile(double percentile) {
+        long[] counts = this.snapshot();
+        long total = 0L;
+        for (long bucketCount : counts)
+            total += bucketCount;
+        if (total == 0L)
+            return 0L;
+
+        long rank = Math.max(1L, (long) Math.ceil(Math.min(100.0, Math.max(0.0, percentile)) / 100.0 * total));
+        long seen = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank)
+                return Math.min(highestValueOf(i), this.max.get());
+        }
+        return this.max.get();
+    }
+
+    public void reset() {
+        for (AtomicLongArray stripe : this.stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++)
+                stripe.set(i, 0L);
+        }
+        this.count.reset();
+        this.sum.reset();
+        this.max.set(0L);
+    }
+
+    private long[] snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (AtomicLongArray stripe : this.stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++)
+                counts[i] += stripe.get(i);
+        }
+        return counts;
+    }
+
+    static int bucketOf(long value) {
+        long clamped = Math.min(value, MAX_TRACKABLE);
+        if (clamped < SUB_BUCKET_COUNT)
+            return (int) clamped;
+
+        int shift = (63 - Long.numberOfLeadingZeros(clamped)) - SUB_BUCKET_BITS;
+        int subBucket = (int) (clamped >>> shift) & (SUB_BUCKET_COUNT - 1);
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT)
+            return bucket;
+
+        int shift = bucket / SUB_BUCKET_COUNT - 1;
+        long subBucket = bucket % SUB_BUCKET_COUNT;
+        return ((SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,8 @@
+package com.github.luiox.freesia.metrics;
+
+import com.github.luiox.freesia.handler.EventHandler;
+
+@FunctionalInterface
+public interface SlowListenerCallback {
+    void onSlowListener(EventHandler eventHandler, Object event, long durationNanos);
+}
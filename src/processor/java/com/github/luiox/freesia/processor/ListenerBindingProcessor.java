@@ -0,0 +1,297 @@
+package com.github.luiox.freesia.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public final class ListenerBindingProcessor extends AbstractProcessor {
+    static final String LISTENER = "com.github.luiox.freesia.handler.Listener";
+    static final String BATCH_LISTENER = "com.github.luiox.freesia.handler.BatchListener";
+    static final String SUFFIX = "$$ListenerBinding";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return new LinkedHashSet<>(Arrays.asList(LISTENER, BATCH_LISTENER));
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement listenerAnnotation = this.processingEnv.getElementUtils().getTypeElement(LISTENER);
+        if (listenerAnnotation == null)
+            return false;
+
+        Set<TypeElement> listenerTypes = new LinkedHashSet<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(listenerAnnotation)) {
+            if (element.getKind() == ElementKind.METHOD)
+                listenerTypes.add((TypeElement) element.getEnclosingElement());
+        }
+        for (TypeElement listenerType : listenerTypes) {
+            List<ListenerMethod> methods = this.collect(listenerType);
+            if (methods != null && !methods.isEmpty())
+                this.write(listenerType, methods);
+        }
+        return false;
+    }
+
+    private List<ListenerMethod> collect(TypeElement listenerType) {
+        if (!this.isBindable(listenerType))
+            return null;
+
+        PackageElement packageElement = this.processingEnv.getElementUtils().getPackageOf(listenerType);
+        List<ListenerMethod> methods = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(listenerType.getEnclosedElements())) {
+            if (this.annotation(method, BATCH_LISTENER) != null)
+                return null;
+
+            AnnotationMirror listener = this.annotation(method, LISTENER);
+            if (listener == null || method.getParameters().size() != 1)
+                continue;
+            if (method.getModifiers().contains(Modifier.PRIVATE) || !method.getTypeParameters().isEmpty())
+                return null;
+
+            TypeMirror eventType = this.processingEnv.getTypeUtils().erasure(method.getParameters().get(0).asType());
+            if (eventType.getKind().isPrimitive())
+                continue;
+            if (!this.isAccessible(eventType, packageElement))
+                return null;
+
+            List<String> filters = new ArrayList<>();
+            for (TypeMirror filterType : this.filtersOf(listener)) {
+                if (!this.isInstantiable(filterType, packageElement))
+                    return null;
+                filters.add(this.processingEnv.getTypeUtils().erasure(filterType).toString());
+            }
+
+            methods.add(new ListenerMethod(method.getSimpleName().toString(), eventType.toString(),
+                    method.getModifiers().contains(Modifier.STATIC), this.intValue(listener, "priority"),
+                    this.booleanValue(listener, "async"), this.stringValue(listener, "key"),
+                    this.stringValue(listener, "thread"), filters));
+        }
+        return methods;
+    }
+
+    private void write(TypeElement listenerType, List<ListenerMethod> methods) {
+        String packageName = this.processingEnv.getElementUtils().getPackageOf(listenerType).getQualifiedName().toString();
+        String binaryName = this.processingEnv.getElementUtils().getBinaryName(listenerType).toString();
+        String bindingName = binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1) + SUFFIX;
+        String listenerName = this.processingEnv.getTypeUtils().erasure(listenerType.asType()).toString();
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty())
+            source.append("package ").append(packageName).append(";\n\n");
+        source.append("@SuppressWarnings({\"rawtypes\", \"unchecked\"})\n")
+                .append("public final class ").append(bindingName)
+                .append(" implements com.github.luiox.freesia.handler.ListenerBinding {\n");
+        for (int i = 0; i < methods.size(); i++) {
+            ListenerMethod method = methods.get(i);
+            source.append("    private static final java.lang.reflect.Method METHOD_").append(i)
+                    .append(" = com.github.luiox.freesia.handler.ListenerBindings.method(")
+                    .append(listenerName).append(".class, \"").append(method.name).append("\", ")
+                    .append(method.eventType).append(".class);\n");
+            if (method.filters.isEmpty())
+                continue;
+
+            source.append("    private static final com.github.luiox.freesia.filter.EventFilter[] FILTERS_").append(i)
+                    .append(" = {");
+            for (int j = 0; j < method.filters.size(); j++) {
+                if (j > 0)
+                    source.append(", ");
+                source.append("com.github.luiox.freesia.filter.EventFilters.shared(")
+                        .append(method.filters.get(j)).append(".class)");
+            }
+            source.append("};\n");
+        }
+        source.append("\n    @Override\n")
+                .append("    public java.util.Map<java.lang.Class<?>, java.util.Set<com.github.luiox.freesia.handler.EventHandler>> bind(java.lang.Object listenerContainer) {\n")
+                .append("        final ").append(listenerName).append(" listener = (").append(listenerName).append(") listenerContainer;\n")
+                .append("        java.util.Map<java.lang.Class<?>, java.util.Set<com.github.luiox.freesia.handler.EventHandler>> eventHandlers = new java.util.HashMap<>();\n");
+        for (int i = 0; i < methods.size(); i++) {
+            ListenerMethod method = methods.get(i);
+            source.append("        com.github.luiox.freesia.handler.ListenerBindings.add(eventHandlers, ")
+                    .append(method.eventType).append(".class,\n")
+                    .append("                new com.github.luiox.freesia.handler.MethodEventHandler(listener, METHOD_").append(i)
+                    .append(", ").append(method.priority).append(", ").append(method.async).append(", ")
+                    .append(method.filters.isEmpty() ? "null" : "FILTERS_" + i)
+                    .append(", event -> ").append(method.isStatic ? listenerName : "listener").append('.')
+                    .append(method.name).append(this.argument(method.eventType));
+            if (!method.key.isEmpty() || !method.thread.isEmpty())
+                source.append(", ").append(this.literal(method.key)).append(", ").append(this.literal(method.thread));
+            source.append("));\n");
+        }
+        source.append("        return eventHandlers;\n")
+                .append("    }\n")
+                .append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? bindingName : packageName + "." + bindingName;
+        try {
+            JavaFileObject file = this.processingEnv.getFiler().createSourceFile(qualifiedName, listenerType);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException exception) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write listener binding " + qualifiedName + ": " + exception.getMessage(), listenerType);
+        }
+    }
+
+    private boolean isBindable(TypeElement listenerType) {
+        if (listenerType.getKind() != ElementKind.CLASS || listenerType.getModifiers().contains(Modifier.ABSTRACT))
+            return false;
+        if (!listenerType.getTypeParameters().isEmpty())
+            return false;
+
+        Element element = listenerType;
+        while (element instanceof TypeElement) {
+            TypeElement type = (TypeElement) element;
+            if (type.getModifiers().contains(Modifier.PRIVATE))
+                return false;
+            if (type.getNestingKind() != NestingKind.TOP_LEVEL && type.getNestingKind() != NestingKind.MEMBER)
+                return false;
+            element = type.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private boolean isAccessible(TypeMirror type, PackageElement from) {
+        if (type.getKind() == TypeKind.ARRAY)
+            return this.isAccessible(((ArrayType) type).getComponentType(), from);
+        if (type.getKind() != TypeKind.DECLARED)
+            return false;
+
+        Element element = ((DeclaredType) type).asElement();
+        PackageElement packageElement = this.processingEnv.getElementUtils().getPackageOf(element);
+        while (element instanceof TypeElement) {
+            Set<Modifier> modifiers = element.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE))
+                return false;
+            if (!modifiers.contains(Modifier.PUBLIC) && !packageElement.equals(from))
+                return false;
+            element = element.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private boolean isInstantiable(TypeMirror filterType, PackageElement from) {
+        if (!this.isAccessible(filterType, from))
+            return false;
+
+        TypeElement filter = (TypeElement) ((DeclaredType) filterType).asElement();
+        if (filter.getModifiers().contains(Modifier.ABSTRACT) || !filter.getTypeParameters().isEmpty())
+            return false;
+        if (filter.getNestingKind() == NestingKind.MEMBER && !filter.getModifiers().contains(Modifier.STATIC))
+            return false;
+
+        boolean samePackage = this.processingEnv.getElementUtils().getPackageOf(filter).equals(from);
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(filter.getEnclosedElements())) {
+            if (!constructor.getParameters().isEmpty() || !constructor.getThrownTypes().isEmpty())
+                continue;
+            Set<Modifier> modifiers = constructor.getModifiers();
+            return modifiers.contains(Modifier.PUBLIC) || (samePackage && !modifiers.contains(Modifier.PRIVATE));
+        }
+        return false;
+    }
+
+    private AnnotationMirror annotation(Element element, String annotationType) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationType))
+                return mirror;
+        }
+        return null;
+    }
+
+    private Object value(AnnotationMirror annotation, String name) {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+                this.processingEnv.getElementUtils().getElementValuesWithDefaults(annotation);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name))
+                return entry.getValue().getValue();
+        }
+        return null;
+    }
+
+    private int intValue(AnnotationMirror annotation, String name) {
+        Object value = this.value(annotation, name);
+        return value instanceof Integer ? (Integer) value : 0;
+    }
+
+    private boolean booleanValue(AnnotationMirror annotation, String name) {
+        return Boolean.TRUE.equals(this.value(annotation, name));
+    }
+
+    private String argument(String eventType) {
+        return "java.lang.Object".equals(eventType) ? "(event)" : "((" + eventType + ") event)";
+    }
+
+    private String literal(String value) {
+        return value.isEmpty() ? "null" : this.processingEnv.getElementUtils().getConstantExpression(value);
+    }
+
+    private String stringValue(AnnotationMirror annotation, String name) {
+        Object value = this.value(annotation, name);
+        return value instanceof String ? (String) value : "";
+    }
+
+    private List<TypeMirror> filtersOf(AnnotationMirror annotation) {
+        Object value = this.value(annotation, "filters");
+        if (!(value instanceof List))
+            return Collections.emptyList();
+
+        List<TypeMirror> filters = new ArrayList<>();
+        for (Object filter : (List<?>) value)
+            filters.add((TypeMirror) ((AnnotationValue) filter).getValue());
+        return filters;
+    }
+
+    private static final class ListenerMethod {
+        private final String name;
+        private final String eventType;
+        private final boolean isStatic;
+        private final int priority;
+        private final boolean async;
+        private final String key;
+        private final String thread;
+        private final List<String> filters;
+
+        private ListenerMethod(String name, String eventType, boolean isStatic, int priority, boolean async,
+                               String key, String thread, List<String> filters) {
+            this.name = name;
+            this.eventType = eventType;
+            this.isStatic = isStatic;
+            this.priority = priority;
+            this.async = async;
+            this.key = key;
+            this.thread = thread;
+            this.filters = filters;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.luiox.freesia;
+
+import com.github.luiox.freesia.filter.EventFilter;
+import com.github.luiox.freesia.handler.EventHandler;
+import com.github.luiox.freesia.handler.Listener;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventManagerAllocationTest {
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 100_000;
+    private static final int ROUNDS = 5;
+    private static final int POSTS_PER_ITERATION = 3;
+    private static final double MAX_BYTES_PER_POST = 1.0;
+
+    @Test
+    void shouldNotAllocateOnSynchronousPost() {
+        com.sun.management.ThreadMXBean threadMXBean = allocationMXBean();
+
+        EventManager eventManager = new EventManager();
+        SyncListener listener = new SyncListener();
+        eventManager.register(listener);
+
+        PlainEvent plainEvent = new PlainEvent();
+        Event cancellableEvent = new Event();
+        OtherEvent otherEvent = new OtherEvent();
+        for (int i = 0; i < WARMUP; i++)
+            postAll(eventManager, plainEvent, cancellableEvent, otherEvent);
+
+        long threadId = Thread.currentThread().getId();
+        long overhead = measurementOverhead(threadMXBean, threadId);
+        long allocated = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = threadMXBean.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < ITERATIONS; i++)
+                postAll(eventManager, plainEvent, cancellableEvent, otherEvent);
+            allocated += Math.max(0, threadMXBean.getThreadAllocatedBytes(threadId) - before - overhead);
+        }
+
+        double perPost = (double) allocated / ((long) ROUNDS * ITERATIONS * POSTS_PER_ITERATION);
+        assertEquals(5L * (WARMUP + ROUNDS * ITERATIONS), listener.calls);
+        assertTrue(perPost < MAX_BYTES_PER_POST,
+                "post allocated " + allocated + " bytes over " + ROUNDS * ITERATIONS + " iterations");
+    }
+
+    private static void postAll(EventManager eventManager, PlainEvent plainEvent, Event cancellableEvent,
+                                OtherEvent otherEvent) {
+        eventManager.post(plainEvent);
+        eventManager.post(cancellableEvent);
+        eventManager.post(otherEvent);
+    }
+
+    private static long measurementOverhead(com.sun.management.ThreadMXBean threadMXBean, long threadId) {
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 16; i++) {
+            long before = threadMXBean.getThreadAllocatedBytes(threadId);
+            overhead = Math.min(overhead, threadMXBean.getThreadAllocatedBytes(threadId) - before);
+        }
+        return overhead;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationMXBean() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean,
+                "Thread allocation accounting is not available on this JVM");
+
+        com.sun.management.ThreadMXBean allocationMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        Assumptions.assumeTrue(allocationMXBean.isThreadAllocatedMemorySupported(),
+                "Thread allocation accounting is not supported");
+        allocationMXBean.setThreadAllocatedMemoryEnabled(true);
+        return allocationMXBean;
+    }
+
+    public static class PlainEvent {}
+
+    public static class OtherEvent {}
+
+    public static class PassFilter implements EventFilter<Object> {
+        @Override
+        public boolean test(EventHandler eventHandler, Object event) {
+            return true;
+        }
+    }
+
+    public static class SyncListener {
+        private long calls;
+
+        @Listener(priority = 10)
+        public void onPlain(PlainEvent event) {
+            calls++;
+        }
+
+        @Listener(filters = {PassFilter.class})
+        public void onFilteredPlain(PlainEvent event) {
+        }
+
+        @Listener
+        public void onEvent(Event event) {
+            calls++;
+        }
+
+        @Listener
+        public void onAny(Object event) {
+            calls++;
+        }
+    }
+}
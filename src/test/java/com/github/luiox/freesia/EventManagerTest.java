@@ -1,16 +1,33 @@
 package com.github.luiox.freesia;
 
+import com.github.luiox.freesia.async.AsyncDispatcher;
+import com.github.luiox.freesia.dispatch.MethodEventDispatcher;
 import com.github.luiox.freesia.filter.EventFilter;
+import com.github.luiox.freesia.filter.EventPredicate;
+import com.github.luiox.freesia.filter.FieldEqualsPredicate;
+import com.github.luiox.freesia.handler.EventAction;
+import com.github.luiox.freesia.handler.BatchListener;
 import com.github.luiox.freesia.handler.EventHandler;
 import com.github.luiox.freesia.handler.Listener;
+import com.github.luiox.freesia.handler.MethodHandlerScanner;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -55,6 +72,193 @@ class EventManagerTest {
         assertEquals(Arrays.asList("high", "normal", "low"), listener.order);
     }
 
+    @Test
+    void shouldRecompileChainWhenListenersChange() {
+        OrderListener first = new OrderListener();
+        OrderListener second = new OrderListener();
+        eventManager.register(first);
+        eventManager.register(second);
+
+        eventManager.post(new OrderEvent());
+        assertEquals(Arrays.asList("high", "normal", "low"), first.order);
+        assertEquals(Arrays.asList("high", "normal", "low"), second.order);
+
+        eventManager.unregister(first);
+        eventManager.post(new OrderEvent());
+        assertEquals(3, first.order.size());
+        assertEquals(6, second.order.size());
+    }
+
+    @Test
+    void shouldRegisterAndUnregisterInBulk() {
+        List<BasicListener> listeners = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            listeners.add(new BasicListener());
+
+        assertEquals(100, eventManager.registerAll(listeners));
+        assertEquals(0, eventManager.registerAll(listeners.subList(0, 10)));
+        eventManager.post(new BasicEvent());
+        for (BasicListener listener : listeners)
+            assertEquals(1, listener.counter.get());
+
+        assertEquals(50, eventManager.unregisterAll(listeners.subList(0, 50)));
+        eventManager.post(new BasicEvent());
+        assertEquals(1, listeners.get(0).counter.get());
+        assertEquals(2, listeners.get(99).counter.get());
+        assertFalse(eventManager.isRegistered(listeners.get(0)));
+        assertTrue(eventManager.isRegistered(listeners.get(99)));
+    }
+
+    @Test
+    void shouldKeepRegistrationsConsistentUnderConcurrentChurn() throws InterruptedException {
+        int threads = 4;
+        int rounds = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<BasicListener> survivors = new CopyOnWriteArrayList<>();
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < rounds; i++) {
+                        BasicListener listener = new BasicListener();
+                        OrderListener other = new OrderListener();
+                        assertEquals(2, eventManager.registerAll(Arrays.asList(listener, other)));
+                        eventManager.post(new BasicEvent());
+                        assertTrue(eventManager.unregister(other));
+                        if (i % 2 == 0)
+                            assertTrue(eventManager.unregister(listener));
+                        else
+                            survivors.add(listener);
+                    }
+                } catch (Throwable throwable) {
+                    failures.add(throwable);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertTrue(failures.isEmpty(), failures::toString);
+
+        int[] before = new int[survivors.size()];
+        for (int i = 0; i < before.length; i++)
+            before[i] = survivors.get(i).counter.get();
+        eventManager.post(new BasicEvent());
+        for (int i = 0; i < before.length; i++)
+            assertEquals(before[i] + 1, survivors.get(i).counter.get());
+        assertEquals(threads * rounds / 2, survivors.size());
+
+        OrderListener probe = new OrderListener();
+        eventManager.register(probe);
+        eventManager.post(new OrderEvent());
+        assertEquals(Arrays.asList("high", "normal", "low"), probe.order);
+    }
+
+    @Test
+    void shouldDispatchToSupertypeAndInterfaceListeners() {
+        HierarchyListener listener = new HierarchyListener();
+        eventManager.register(listener);
+
+        eventManager.post(new PriceTickEvent());
+        assertEquals(Arrays.asList("marker", "base", "tick"), listener.order);
+
+        listener.order.clear();
+        eventManager.post(new BaseTickEvent());
+        assertEquals(Arrays.asList("base"), listener.order);
+    }
+
+    @Test
+    void shouldInvalidateResolvedChainsOnRegistration() {
+        QuickStartListener listener = new QuickStartListener();
+        eventManager.post(new PriceTickEvent());
+
+        eventManager.register(listener);
+        eventManager.post(new PriceTickEvent());
+        assertEquals(1, listener.counter.get());
+
+        eventManager.unregister(listener);
+        eventManager.post(new PriceTickEvent());
+        assertEquals(1, listener.counter.get());
+    }
+
+    @Test
+    void shouldDispatchToWeakListenersWhileReachable() {
+        EventManager weakManager = new EventManager(inlineDispatcher());
+        AtomicInteger calls = new AtomicInteger();
+        WeakListener listener = new WeakListener(calls);
+
+        assertTrue(weakManager.registerWeak(listener));
+        assertFalse(weakManager.register(listener));
+        assertTrue(weakManager.isRegistered(listener));
+        weakManager.post(new WeakEvent());
+        assertEquals(1, calls.get());
+
+        assertTrue(weakManager.unregister(listener));
+        weakManager.post(new WeakEvent());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void shouldPurgeCollectedWeakListeners() throws InterruptedException {
+        List<EventHandler> unbound = new CopyOnWriteArrayList<>();
+        EventManager weakManager = new EventManager(new AsyncDispatcher() {
+            @Override
+            public EventAction bind(EventHandler eventHandler) {
+                return eventHandler::handle;
+            }
+
+            @Override
+            public void execute(EventHandler eventHandler, Object event, Runnable task) {
+                task.run();
+            }
+
+            @Override
+            public void unbind(EventHandler eventHandler) {
+                unbound.add(eventHandler);
+            }
+        });
+        AtomicInteger calls = new AtomicInteger();
+        WeakReference<WeakListener> probe = registerWeakListener(weakManager, calls);
+        weakManager.post(new WeakEvent());
+        assertEquals(1, calls.get());
+
+        for (int i = 0; i < 100 && probe.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(probe.get());
+
+        weakManager.post(new WeakEvent());
+        assertEquals(1, calls.get());
+
+        for (int i = 0; i < 500 && unbound.isEmpty(); i++)
+            Thread.sleep(10);
+        assertEquals(1, unbound.size());
+        weakManager.shutdown();
+    }
+
+    private static AsyncDispatcher inlineDispatcher() {
+        return new AsyncDispatcher() {
+            @Override
+            public EventAction bind(EventHandler eventHandler) {
+                return eventHandler::handle;
+            }
+
+            @Override
+            public void execute(EventHandler eventHandler, Object event, Runnable task) {
+                task.run();
+            }
+        };
+    }
+
+    private static WeakReference<WeakListener> registerWeakListener(EventManager eventManager, AtomicInteger calls) {
+        WeakListener listener = new WeakListener(calls);
+        assertTrue(eventManager.registerWeak(listener));
+        return new WeakReference<>(listener);
+    }
+
     @Test
     void shouldStopDispatchWhenEventCancelled() {
         CancelListener listener = new CancelListener();
@@ -82,6 +286,229 @@ class EventManagerTest {
         assertEquals(1, listener.counter.get());
     }
 
+    @Test
+    void shouldEvaluateSharedPredicatesOncePerPost() {
+        CountingPredicate.evaluations.set(0);
+        SharedFilterListener first = new SharedFilterListener();
+        SharedFilterListener second = new SharedFilterListener();
+        eventManager.register(first);
+        eventManager.register(second);
+
+        eventManager.post(new QuoteEvent("BUY", 5));
+        assertEquals(1, CountingPredicate.evaluations.get());
+        assertEquals(1, first.buys.get());
+        assertEquals(1, second.buys.get());
+        assertEquals(0, second.large.get());
+
+        eventManager.post(new QuoteEvent("SELL", 50));
+        assertEquals(2, CountingPredicate.evaluations.get());
+        assertEquals(1, first.buys.get());
+        assertEquals(1, first.large.get());
+    }
+
+    @Test
+    void shouldApplyPredicatesToAsyncAndBatchDispatch() throws Exception {
+        SharedFilterListener listener = new SharedFilterListener();
+        eventManager.register(listener);
+
+        eventManager.postAsync(new QuoteEvent("SELL", 1)).get(5, TimeUnit.SECONDS);
+        eventManager.postAll(Arrays.asList(new QuoteEvent("BUY", 1), new QuoteEvent("SELL", 1)));
+        assertEquals(1, listener.buys.get());
+        assertEquals(0, listener.large.get());
+    }
+
+    @Test
+    void shouldApplyPredicatesWhenHandlersAreInvokedDirectly() {
+        SharedFilterListener listener = new SharedFilterListener();
+        MethodEventDispatcher dispatcher = new MethodEventDispatcher(new MethodHandlerScanner().locate(listener));
+
+        dispatcher.dispatch(new QuoteEvent("SELL", 1));
+        dispatcher.dispatch(new QuoteEvent("BUY", 20));
+        assertEquals(1, listener.buys.get());
+        assertEquals(1, listener.large.get());
+    }
+
+    @Test
+    void shouldRouteKeyedListenersByEventKey() {
+        RoutedListener listener = new RoutedListener();
+        eventManager.register(listener);
+
+        eventManager.post(new SymbolEvent("AAPL"));
+        eventManager.post(new SymbolEvent("MSFT"));
+        eventManager.post(new SymbolEvent(null));
+        eventManager.postAll(Arrays.asList(new SymbolEvent("AAPL"), new SymbolEvent("AAPL"), new SymbolEvent("IBM")));
+
+        assertEquals(Arrays.asList("any:AAPL", "AAPL", "any:MSFT", "any:null", "any:AAPL", "any:AAPL", "AAPL", "AAPL",
+                "any:IBM"), listener.calls);
+    }
+
+    @Test
+    void shouldRouteListenersRegisteredWithKey() throws Exception {
+        SymbolListener aapl = new SymbolListener();
+        SymbolListener msft = new SymbolListener();
+        assertTrue(eventManager.register(aapl, "AAPL"));
+        assertTrue(eventManager.register(msft, "MSFT"));
+        assertFalse(eventManager.register(msft, "IBM"));
+
+        eventManager.post(new SymbolEvent("AAPL"));
+        eventManager.postAsync(new SymbolEvent("MSFT")).get(5, TimeUnit.SECONDS);
+        eventManager.post(new SymbolEvent("MSFT"));
+        assertEquals(1, aapl.counter.get());
+        assertEquals(2, msft.counter.get());
+
+        eventManager.unregister(msft);
+        eventManager.post(new SymbolEvent("MSFT"));
+        assertEquals(2, msft.counter.get());
+    }
+
+    @Test
+    void shouldForwardUnmatchedAndWhitelistedEventsToParent() {
+        EventManager child = EventManager.builder().parent(eventManager, OrderEvent.class).build();
+        BasicListener parentListener = new BasicListener();
+        eventManager.register(parentListener);
+        OrderListener parentOrders = new OrderListener();
+        eventManager.register(parentOrders);
+
+        child.post(new BasicEvent());
+        assertEquals(1, parentListener.counter.get());
+
+        BasicListener childListener = new BasicListener();
+        child.register(childListener);
+        child.post(new BasicEvent());
+        assertEquals(1, childListener.counter.get());
+        assertEquals(1, parentListener.counter.get());
+
+        OrderListener childOrders = new OrderListener();
+        child.register(childOrders);
+        child.post(new OrderEvent());
+        assertEquals(Arrays.asList("high", "normal", "low"), childOrders.order);
+        assertEquals(Arrays.asList("high", "normal", "low"), parentOrders.order);
+        child.shutdown();
+    }
+
+    @Test
+    void shouldPickUpParentListenerChangesThroughCachedChains() {
+        EventManager child = EventManager.builder().parent(eventManager).build();
+        child.post(new BasicEvent());
+
+        BasicListener parentListener = new BasicListener();
+        eventManager.register(parentListener);
+        child.post(new BasicEvent());
+        eventManager.unregister(parentListener);
+        child.post(new BasicEvent());
+
+        assertEquals(1, parentListener.counter.get());
+        child.shutdown();
+    }
+
+    @Test
+    void shouldBridgeTypesBetweenSiblingBusesWithoutCycles() throws Exception {
+        EventManager sibling = new EventManager();
+        BasicListener siblingListener = new BasicListener();
+        sibling.register(siblingListener);
+        BasicListener localListener = new BasicListener();
+        eventManager.register(localListener);
+
+        eventManager.bridge(sibling, BasicEvent.class);
+        eventManager.post(new BasicEvent());
+        eventManager.postAsync(new BasicEvent()).get(5, TimeUnit.SECONDS);
+        assertEquals(2, localListener.counter.get());
+        assertEquals(2, siblingListener.counter.get());
+        assertThrows(IllegalArgumentException.class, () -> sibling.bridge(eventManager, BasicEvent.class));
+
+        assertTrue(eventManager.unbridge(sibling));
+        eventManager.post(new BasicEvent());
+        assertEquals(2, siblingListener.counter.get());
+        sibling.bridge(eventManager, BasicEvent.class);
+        sibling.shutdown();
+    }
+
+    @Test
+    void shouldRejectOneOfTwoConcurrentOpposingBridges() throws InterruptedException {
+        for (int round = 0; round < 200; round++) {
+            EventManager left = new EventManager();
+            EventManager right = new EventManager();
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicInteger rejected = new AtomicInteger();
+            Thread forward = new Thread(() -> bridgeAfter(start, left, right, rejected));
+            Thread backward = new Thread(() -> bridgeAfter(start, right, left, rejected));
+            forward.start();
+            backward.start();
+            start.countDown();
+            forward.join(5_000);
+            backward.join(5_000);
+
+            assertEquals(1, rejected.get());
+            left.shutdown();
+            right.shutdown();
+        }
+    }
+
+    private static void bridgeAfter(CountDownLatch start, EventManager source, EventManager target,
+                                    AtomicInteger rejected) {
+        try {
+            start.await();
+            source.bridge(target, BasicEvent.class);
+        } catch (IllegalArgumentException exception) {
+            rejected.incrementAndGet();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void shouldReplayRetainedStickyEventsToLateListeners() {
+        EventManager eventManager = EventManager.builder()
+                .stickyRetention(SymbolEvent.class, 2)
+                .build();
+        eventManager.postSticky(new SymbolEvent("AAPL"));
+        eventManager.postSticky(new SymbolEvent("MSFT"));
+        eventManager.postSticky(new SymbolEvent("IBM"));
+        eventManager.postSticky(new BasicEvent());
+        BasicEvent latest = eventManager.postSticky(new BasicEvent());
+
+        RoutedListener listener = new RoutedListener();
+        eventManager.register(listener);
+        assertEquals(Arrays.asList("any:MSFT", "any:IBM"), listener.calls);
+        assertSame(latest, eventManager.getSticky(BasicEvent.class));
+
+        BasicListener basicListener = new BasicListener();
+        eventManager.register(basicListener);
+        assertEquals(1, basicListener.counter.get());
+        assertEquals(2, listener.calls.size());
+
+        assertTrue(eventManager.removeSticky(BasicEvent.class));
+        eventManager.unregister(basicListener);
+        eventManager.register(basicListener);
+        assertEquals(1, basicListener.counter.get());
+        assertNull(eventManager.getSticky(BasicEvent.class));
+        eventManager.shutdown();
+    }
+
+    @Test
+    void shouldNotDeliverStickyEventTwiceToConcurrentRegistrant() throws InterruptedException {
+        EventManager eventManager = new EventManager();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread poster = new Thread(() -> {
+            for (int i = 0; running.get(); i++)
+                eventManager.postSticky(new SymbolEvent(String.valueOf(i)));
+        });
+        poster.start();
+
+        List<StickyRecorder> recorders = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            StickyRecorder recorder = new StickyRecorder();
+            eventManager.register(recorder);
+            recorders.add(recorder);
+        }
+        running.set(false);
+        poster.join(5_000);
+
+        for (StickyRecorder recorder : recorders)
+            assertFalse(recorder.duplicated);
+        eventManager.shutdown();
+    }
+
     @Test
     void shouldDispatchAsyncListener() throws InterruptedException {
         AsyncListener listener = new AsyncListener();
@@ -95,6 +522,260 @@ class EventManagerTest {
         assertTrue(listener.executedOnDifferentThread.get());
     }
 
+    @Test
+    void shouldCompletePostAsyncAfterAllHandlersFinish() throws Exception {
+        TrackedListener listener = new TrackedListener();
+        eventManager.register(listener);
+        TrackedEvent event = new TrackedEvent(false);
+
+        assertSame(event, eventManager.postAsync(event).get(5, TimeUnit.SECONDS));
+        assertEquals(2, listener.calls.get());
+    }
+
+    @Test
+    void shouldFailPostAsyncWithEveryListenerFailure() throws Exception {
+        eventManager.register(new TrackedListener());
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> eventManager.postAsync(new TrackedEvent(true)).get(5, TimeUnit.SECONDS));
+        EventDispatchException failure = (EventDispatchException) exception.getCause();
+        assertEquals(2, failure.getFailures().size());
+        assertEquals(1, failure.getSuppressed().length);
+    }
+
+    @Test
+    void shouldTimeOutPostAsync() throws Exception {
+        BlockingListener listener = new BlockingListener();
+        eventManager.register(listener);
+        try {
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> eventManager.postAsync(new BlockingEvent(), 50, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof TimeoutException);
+        } finally {
+            listener.release.countDown();
+        }
+    }
+
+    @Test
+    void shouldRouteListenerFailuresToExceptionHandler() {
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        List<Object> events = new CopyOnWriteArrayList<>();
+        EventManager eventManager = EventManager.builder()
+                .asyncDispatcher(inlineDispatcher())
+                .exceptionHandler((failure, eventHandler, event) -> {
+                    failures.add(failure);
+                    events.add(event);
+                })
+                .build();
+        FlakyListener listener = new FlakyListener();
+        eventManager.register(listener);
+
+        FlakyEvent event = new FlakyEvent();
+        eventManager.post(event);
+
+        assertEquals(2, listener.calls.get());
+        assertEquals(2, failures.size());
+        assertTrue(failures.get(0) instanceof IllegalStateException);
+        assertSame(event, events.get(1));
+    }
+
+    @Test
+    void shouldSuspendListenerAfterConsecutiveFailures() {
+        AtomicInteger failures = new AtomicInteger();
+        EventManager eventManager = EventManager.builder()
+                .asyncDispatcher(inlineDispatcher())
+                .exceptionHandler((failure, eventHandler, event) -> failures.incrementAndGet())
+                .circuitBreaker(3, 1, 50, TimeUnit.SECONDS)
+                .build();
+        FlakyListener listener = new FlakyListener();
+        eventManager.register(listener);
+
+        for (int i = 0; i < 5; i++)
+            eventManager.post(new FlakyEvent());
+        assertEquals(6, listener.calls.get());
+        assertEquals(6, failures.get());
+        assertTrue(eventManager.isRegistered(listener));
+        eventManager.shutdown();
+    }
+
+    @Test
+    void shouldGuardBatchListeners() {
+        List<Object> failedBatches = new CopyOnWriteArrayList<>();
+        EventManager eventManager = EventManager.builder()
+                .exceptionHandler((failure, eventHandler, event) -> failedBatches.add(event))
+                .circuitBreaker(2, 1, 50, TimeUnit.SECONDS)
+                .build();
+        FlakyBatchListener listener = new FlakyBatchListener();
+        eventManager.register(listener);
+
+        for (int i = 0; i < 8; i++)
+            eventManager.post(new FlakyEvent());
+        assertEquals(2, listener.calls.get());
+        assertEquals(2, failedBatches.size());
+        assertEquals(2, ((List<?>) failedBatches.get(0)).size());
+        eventManager.shutdown();
+    }
+
+    @Test
+    void shouldCloseCircuitAfterSuccessfulProbe() throws InterruptedException {
+        EventManager eventManager = EventManager.builder()
+                .asyncDispatcher(inlineDispatcher())
+                .exceptionHandler((failure, eventHandler, event) -> { })
+                .circuitBreaker(2, 1000, 20, TimeUnit.MILLISECONDS)
+                .build();
+        SingleFlakyListener listener = new SingleFlakyListener();
+        eventManager.register(listener);
+
+        eventManager.post(new FlakyEvent());
+        eventManager.post(new FlakyEvent());
+        eventManager.post(new FlakyEvent());
+        assertEquals(2, listener.calls.get());
+
+        listener.fail = false;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (listener.calls.get() == 2 && System.nanoTime() < deadline) {
+            eventManager.post(new FlakyEvent());
+            Thread.sleep(5);
+        }
+        assertTrue(listener.calls.get() > 2);
+
+        listener.fail = true;
+        int calls = listener.calls.get();
+        eventManager.post(new FlakyEvent());
+        eventManager.post(new FlakyEvent());
+        assertEquals(calls + 2, listener.calls.get());
+        eventManager.shutdown();
+    }
+
+    @Test
+    void shouldPostBatchHandlerByHandlerPerTypeRun() {
+        OrderListener orderListener = new OrderListener();
+        BasicListener basicListener = new BasicListener();
+        eventManager.register(orderListener);
+        eventManager.register(basicListener);
+
+        eventManager.postBatch(new Object[]{new OrderEvent(), new OrderEvent(), new BasicEvent(), new OrderEvent()});
+
+        assertEquals(Arrays.asList("high", "high", "normal", "normal", "low", "low", "high", "normal", "low"),
+                orderListener.order);
+        assertEquals(1, basicListener.counter.get());
+    }
+
+    @Test
+    void shouldSkipCancelledEventsInBatch() {
+        CancelListener listener = new CancelListener();
+        eventManager.register(listener);
+
+        eventManager.postAll(Arrays.asList(new CancelEvent(), new CancelEvent()));
+
+        assertEquals(2, listener.firstCounter.get());
+        assertEquals(0, listener.secondCounter.get());
+    }
+
+    @Test
+    void shouldHandAsyncHandlersOneTaskPerBatch() throws InterruptedException {
+        AtomicInteger submittedTasks = new AtomicInteger();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        EventManager batchManager = new EventManager(new AbstractExecutorService() {
+            @Override
+            public void execute(Runnable command) {
+                submittedTasks.incrementAndGet();
+                executor.execute(command);
+            }
+
+            @Override
+            public void shutdown() {
+                executor.shutdown();
+            }
+
+            @Override
+            public List<Runnable> shutdownNow() {
+                return executor.shutdownNow();
+            }
+
+            @Override
+            public boolean isShutdown() {
+                return executor.isShutdown();
+            }
+
+            @Override
+            public boolean isTerminated() {
+                return executor.isTerminated();
+            }
+
+            @Override
+            public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+                return executor.awaitTermination(timeout, unit);
+            }
+        });
+        BatchAsyncListener listener = new BatchAsyncListener();
+        batchManager.register(listener);
+
+        List<BatchAsyncEvent> events = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            events.add(new BatchAsyncEvent());
+        batchManager.postAll(events);
+
+        assertTrue(listener.latch.await(2, TimeUnit.SECONDS));
+        assertEquals(1, submittedTasks.get());
+        batchManager.shutdown();
+    }
+
+    @Test
+    void shouldAccumulateBatchListenersBySizeAndTime() throws InterruptedException {
+        BatchTradeListener listener = new BatchTradeListener();
+        eventManager.register(listener);
+
+        for (int i = 0; i < 7; i++)
+            eventManager.post(new TradeEvent(i));
+
+        assertEquals(Arrays.asList(Arrays.asList(0, 1, 2), Arrays.asList(3, 4, 5)), listener.listBatches);
+        assertTrue(listener.arrayFlushed.await(2, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(Arrays.asList(0, 1), Arrays.asList(2, 3), Arrays.asList(4, 5), Arrays.asList(6)),
+                listener.arrayBatches);
+        assertEquals(14, listener.singles.get());
+
+        eventManager.unregister(listener);
+        assertEquals(Arrays.asList(6), listener.listBatches.get(2));
+    }
+
+    @Test
+    void shouldFlushEveryEventWhenBatchDelayIsZero() {
+        ImmediateBatchListener listener = new ImmediateBatchListener();
+        eventManager.register(listener);
+
+        eventManager.post(new TradeEvent(0));
+        eventManager.post(new TradeEvent(1));
+
+        assertEquals(Arrays.asList(1, 1), listener.sizes);
+    }
+
+    @Test
+    void shouldRouteBatchListenersRegisteredWithKey() {
+        SymbolBatchListener listener = new SymbolBatchListener();
+        eventManager.register(listener, "AAPL");
+
+        eventManager.post(new SymbolEvent("AAPL"));
+        eventManager.post(new SymbolEvent("MSFT"));
+        eventManager.post(new SymbolEvent("AAPL"));
+
+        assertEquals(Collections.singletonList(Arrays.asList("AAPL", "AAPL")), listener.batches);
+    }
+
+    @Test
+    void shouldDeliverBatchesInPostOrderWhileTimerFlushes() {
+        OrderedBatchListener listener = new OrderedBatchListener();
+        eventManager.register(listener);
+
+        for (int i = 0; i < 20_000; i++)
+            eventManager.post(new TradeEvent(i));
+        eventManager.unregister(listener);
+
+        assertEquals(20_000, listener.ids.size());
+        for (int i = 0; i < listener.ids.size(); i++)
+            assertEquals(i, (int) listener.ids.get(i));
+    }
+
     @Test
     void shouldSupportStaticListenerMethods() {
         eventManager.register(new StaticListener());
@@ -148,6 +829,31 @@ class EventManagerTest {
         }
     }
 
+    public interface TickMarker {}
+
+    public static class BaseTickEvent extends Event {}
+
+    public static class PriceTickEvent extends BaseTickEvent implements TickMarker {}
+
+    public static class HierarchyListener {
+        private final List<String> order = new ArrayList<>();
+
+        @Listener(priority = 10)
+        public void onMarker(TickMarker event) {
+            order.add("marker");
+        }
+
+        @Listener
+        public void onBase(BaseTickEvent event) {
+            order.add("base");
+        }
+
+        @Listener(priority = -10)
+        public void onTick(PriceTickEvent event) {
+            order.add("tick");
+        }
+    }
+
     public static class CancelEvent implements ICancellable {
         private volatile boolean cancelled;
 
@@ -177,6 +883,194 @@ class EventManagerTest {
         }
     }
 
+    public static class WeakEvent {}
+
+    public static class WeakListener {
+        private final AtomicInteger calls;
+
+        public WeakListener(AtomicInteger calls) {
+            this.calls = calls;
+        }
+
+        @Listener(async = true)
+        public void onWeak(WeakEvent event) {
+            calls.incrementAndGet();
+        }
+    }
+
+    public static class TrackedEvent {
+        private final boolean fail;
+
+        TrackedEvent(boolean fail) {
+            this.fail = fail;
+        }
+    }
+
+    public static class TrackedListener {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Listener
+        public void onSync(TrackedEvent event) {
+            if (event.fail)
+                throw new IllegalStateException("sync");
+            calls.incrementAndGet();
+        }
+
+        @Listener(async = true)
+        public void onAsync(TrackedEvent event) throws InterruptedException {
+            Thread.sleep(20);
+            if (event.fail)
+                throw new IllegalStateException("async");
+            calls.incrementAndGet();
+        }
+    }
+
+    public static class BlockingEvent {}
+
+    public static class BlockingListener {
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Listener(async = true)
+        public void onBlocking(BlockingEvent event) throws InterruptedException {
+            release.await();
+        }
+    }
+
+    public static class FlakyEvent {}
+
+    public static class FlakyListener {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Listener(priority = 1)
+        public void onFirst(FlakyEvent event) {
+            calls.incrementAndGet();
+            throw new IllegalStateException("first");
+        }
+
+        @Listener
+        public void onSecond(FlakyEvent event) {
+            calls.incrementAndGet();
+            throw new IllegalArgumentException("second");
+        }
+    }
+
+    public static class FlakyBatchListener {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @BatchListener(maxSize = 2, maxDelayMs = 60_000)
+        public void onBatch(List<FlakyEvent> events) {
+            calls.incrementAndGet();
+            throw new IllegalStateException("batch");
+        }
+    }
+
+    public static class SingleFlakyListener {
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean fail = true;
+
+        @Listener
+        public void onFlaky(FlakyEvent event) {
+            calls.incrementAndGet();
+            if (fail)
+                throw new IllegalStateException("flaky");
+        }
+    }
+
+    public static class QuoteEvent {
+        private final String side;
+        private final int size;
+
+        QuoteEvent(String side, int size) {
+            this.side = side;
+            this.size = size;
+        }
+    }
+
+    public static class BuySide extends FieldEqualsPredicate<QuoteEvent> {
+        public BuySide() {
+            super(QuoteEvent.class, "side", "BUY");
+        }
+    }
+
+    public static class CountingPredicate implements EventPredicate<QuoteEvent> {
+        static final AtomicInteger evaluations = new AtomicInteger();
+
+        @Override
+        public boolean test(QuoteEvent event) {
+            evaluations.incrementAndGet();
+            return true;
+        }
+    }
+
+    public static class LargeSize implements EventPredicate<QuoteEvent> {
+        @Override
+        public boolean test(QuoteEvent event) {
+            return event.size >= 10;
+        }
+    }
+
+    public static class SharedFilterListener {
+        private final AtomicInteger buys = new AtomicInteger();
+        private final AtomicInteger large = new AtomicInteger();
+
+        @Listener(filters = {CountingPredicate.class, BuySide.class})
+        public void onBuy(QuoteEvent event) {
+            buys.incrementAndGet();
+        }
+
+        @Listener(filters = {CountingPredicate.class, LargeSize.class})
+        public void onLarge(QuoteEvent event) {
+            large.incrementAndGet();
+        }
+    }
+
+    public static class SymbolEvent implements IKeyed {
+        private final String symbol;
+
+        SymbolEvent(String symbol) {
+            this.symbol = symbol;
+        }
+
+        @Override
+        public Object getKey() {
+            return symbol;
+        }
+    }
+
+    public static class RoutedListener {
+        private final List<String> calls = new ArrayList<>();
+
+        @Listener(priority = 1)
+        public void onAny(SymbolEvent event) {
+            calls.add("any:" + event.symbol);
+        }
+
+        @Listener(key = "AAPL")
+        public void onApple(SymbolEvent event) {
+            calls.add(event.symbol);
+        }
+    }
+
+    public static class StickyRecorder {
+        private final Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        private volatile boolean duplicated;
+
+        @Listener
+        public synchronized void onSymbol(SymbolEvent event) {
+            if (!seen.add(event))
+                duplicated = true;
+        }
+    }
+
+    public static class SymbolListener {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Listener
+        public void onSymbol(SymbolEvent event) {
+            counter.incrementAndGet();
+        }
+    }
+
     public static class FilteredEvent {}
 
     public static class ToggleFilter implements EventFilter<FilteredEvent> {
@@ -218,6 +1112,90 @@ class EventManagerTest {
         }
     }
 
+    public static class BatchAsyncEvent {}
+
+    public static class BatchAsyncListener {
+        private final CountDownLatch latch = new CountDownLatch(100);
+
+        @Listener(async = true)
+        public void onBatch(BatchAsyncEvent event) {
+            latch.countDown();
+        }
+    }
+
+    public static class TradeEvent {
+        private final int id;
+
+        TradeEvent(int id) {
+            this.id = id;
+        }
+    }
+
+    public static class OrderedBatchListener {
+        private final List<Integer> ids = new ArrayList<>();
+
+        @BatchListener(maxSize = 3, maxDelayMs = 1)
+        public void onBatch(List<TradeEvent> trades) {
+            for (TradeEvent trade : trades)
+                ids.add(trade.id);
+        }
+    }
+
+    public static class ImmediateBatchListener {
+        private final List<Integer> sizes = new ArrayList<>();
+
+        @BatchListener(maxSize = 3, maxDelayMs = 0)
+        public void onBatch(List<TradeEvent> trades) {
+            sizes.add(trades.size());
+        }
+    }
+
+    public static class SymbolBatchListener {
+        private final List<List<String>> batches = new ArrayList<>();
+
+        @BatchListener(maxSize = 2, maxDelayMs = 60_000)
+        public void onBatch(List<SymbolEvent> events) {
+            List<String> symbols = new ArrayList<>();
+            for (SymbolEvent event : events)
+                symbols.add(event.symbol);
+            batches.add(symbols);
+        }
+    }
+
+    public static class BatchTradeListener {
+        private final List<List<Integer>> listBatches = new CopyOnWriteArrayList<>();
+        private final List<List<Integer>> arrayBatches = new CopyOnWriteArrayList<>();
+        private final CountDownLatch arrayFlushed = new CountDownLatch(4);
+        private final AtomicInteger singles = new AtomicInteger();
+
+        @BatchListener(maxSize = 3, maxDelayMs = 60_000)
+        public void onList(List<TradeEvent> trades) {
+            List<Integer> ids = new ArrayList<>();
+            for (TradeEvent trade : trades)
+                ids.add(trade.id);
+            listBatches.add(ids);
+        }
+
+        @BatchListener(maxSize = 2, maxDelayMs = 20)
+        public void onArray(TradeEvent[] trades) {
+            List<Integer> ids = new ArrayList<>();
+            for (TradeEvent trade : trades)
+                ids.add(trade.id);
+            arrayBatches.add(ids);
+            arrayFlushed.countDown();
+        }
+
+        @Listener
+        public void onSingle(TradeEvent trade) {
+            singles.incrementAndGet();
+        }
+
+        @Listener
+        public void onSingleAgain(TradeEvent trade) {
+            singles.incrementAndGet();
+        }
+    }
+
     public static class StaticEvent {}
 
     public static class StaticListener {
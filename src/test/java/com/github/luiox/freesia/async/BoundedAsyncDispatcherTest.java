@@ -0,0 +1,283 @@
+package com.github.luiox.freesia.async;
+
+import com.github.luiox.freesia.EventManager;
+import com.github.luiox.freesia.IKeyed;
+import com.github.luiox.freesia.handler.Listener;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedAsyncDispatcherTest {
+    private static final int CAPACITY = 2;
+
+    @Test
+    void shouldDropNewestWhenFull() throws InterruptedException {
+        BoundedAsyncDispatcher dispatcher = newDispatcher(OverflowPolicy.DROP_NEWEST);
+        GatedListener listener = fillAndRelease(dispatcher, 5);
+
+        assertEquals(Arrays.asList("0", "1", "2"), listener.awaitValues(3));
+        assertEquals(2, dispatcher.getDroppedCount());
+    }
+
+    @Test
+    void shouldDropOldestWhenFull() throws InterruptedException {
+        BoundedAsyncDispatcher dispatcher = newDispatcher(OverflowPolicy.DROP_OLDEST);
+        GatedListener listener = fillAndRelease(dispatcher, 5);
+
+        assertEquals(Arrays.asList("0", "3", "4"), listener.awaitValues(3));
+        assertEquals(2, dispatcher.getDroppedCount());
+    }
+
+    @Test
+    void shouldNotEvictTrackedTasksWhenDroppingOldest() throws Exception {
+        BoundedAsyncDispatcher dispatcher = newDispatcher(OverflowPolicy.DROP_OLDEST);
+        EventManager eventManager = new EventManager(dispatcher);
+        GatedListener listener = new GatedListener();
+        eventManager.register(listener);
+
+        eventManager.post(new KeyedEvent("k", "0"));
+        assertTrue(listener.started.await(2, TimeUnit.SECONDS));
+        CompletableFuture<KeyedEvent> future = eventManager.postAsync(new KeyedEvent("k", "1"));
+        for (int i = 2; i < 5; i++)
+            eventManager.post(new KeyedEvent("k", String.valueOf(i)));
+        listener.gate.countDown();
+
+        assertEquals("1", future.get(2, TimeUnit.SECONDS).value);
+        assertEquals(Arrays.asList("0", "1", "4"), listener.awaitValues(3));
+        assertEquals(2, dispatcher.getDroppedCount());
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void shouldRejectTrackedTasksPastCapacity() throws Exception {
+        BoundedAsyncDispatcher dispatcher = newDispatcher(OverflowPolicy.DROP_NEWEST);
+        EventManager eventManager = new EventManager(dispatcher);
+        GatedListener listener = new GatedListener();
+        eventManager.register(listener);
+
+        eventManager.post(new KeyedEvent("k", "0"));
+        assertTrue(listener.started.await(2, TimeUnit.SECONDS));
+        eventManager.post(new KeyedEvent("k", "1"));
+        eventManager.post(new KeyedEvent("k", "2"));
+        CompletableFuture<KeyedEvent> future = eventManager.postAsync(new KeyedEvent("k", "3"));
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> future.get(2, TimeUnit.SECONDS));
+        assertTrue(failure.getCause().getCause() instanceof RejectedExecutionException);
+        listener.gate.countDown();
+        assertEquals(Arrays.asList("0", "1", "2"), listener.awaitValues(3));
+        assertEquals(1, dispatcher.getDroppedCount());
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void shouldBlockTrackedTasksUntilSpaceIsAvailable() throws Exception {
+        BoundedAsyncDispatcher dispatcher = newDispatcher(OverflowPolicy.BLOCK);
+        EventManager eventManager = new EventManager(dispatcher);
+        GatedListener listener = new GatedListener();
+        eventManager.register(listener);
+
+        eventManager.post(new KeyedEvent("k", "0"));
+        assertTrue(listener.started.await(2, TimeUnit.SECONDS));
+        eventManager.post(new KeyedEvent("k", "1"));
+        eventManager.post(new KeyedEvent("k", "2"));
+
+        CompletableFuture<CompletableFuture<KeyedEvent>> posted = CompletableFuture.supplyAsync(
+                () -> eventManager.postAsync(new KeyedEvent("k", "3")));
+        Thread.sleep(200);
+        assertFalse(posted.isDone());
+
+        listener.gate.countDown();
+        assertEquals("3", posted.get(2, TimeUnit.SECONDS).get(2, TimeUnit.SECONDS).value);
+        assertEquals(Arrays.asList("0", "1", "2", "3"), listener.awaitValues(4));
+        assertEquals(1, dispatcher.getBlockedCount());
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void shouldRunOnCallerWhenFull() throws InterruptedException {
+        BoundedAsyncDispatcher dispatcher = newDispatcher(OverflowPolicy.CALLER_RUNS);
+        GatedListener listener = fillAndRelease(dispatcher, 4);
+
+        assertEquals(4, listener.awaitValues(4).size());
+        assertEquals(1, dispatcher.getCallerRunsCount());
+        assertTrue(listener.values.contains("3"));
+    }
+
+    @Test
+    void shouldCoalescePendingEventsByKey() throws InterruptedException {
+        BoundedAsyncDispatcher dispatcher = newDispatcher(OverflowPolicy.COALESCE);
+        EventManager eventManager = new EventManager(dispatcher);
+        GatedListener listener = new GatedListener();
+        eventManager.register(listener);
+
+        eventManager.post(new KeyedEvent("blocker", "0"));
+        assertTrue(listener.started.await(2, TimeUnit.SECONDS));
+        eventManager.post(new KeyedEvent("AAPL", "1"));
+        eventManager.post(new KeyedEvent("MSFT", "2"));
+        eventManager.post(new KeyedEvent("AAPL", "3"));
+        listener.gate.countDown();
+
+        assertEquals(Arrays.asList("0", "3", "2"), listener.awaitValues(3));
+        assertEquals(1, dispatcher.getCoalescedCount());
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void shouldBlockPosterUntilSpaceIsAvailable() throws InterruptedException {
+        BoundedAsyncDispatcher dispatcher = newDispatcher(OverflowPolicy.BLOCK);
+        EventManager eventManager = new EventManager(dispatcher);
+        GatedListener listener = new GatedListener();
+        eventManager.register(listener);
+
+        eventManager.post(new KeyedEvent("k", "0"));
+        assertTrue(listener.started.await(2, TimeUnit.SECONDS));
+        eventManager.post(new KeyedEvent("k", "1"));
+        eventManager.post(new KeyedEvent("k", "2"));
+
+        Thread poster = new Thread(() -> eventManager.post(new KeyedEvent("k", "3")));
+        poster.start();
+        poster.join(200);
+        assertTrue(poster.isAlive());
+
+        listener.gate.countDown();
+        poster.join(2000);
+        assertFalse(poster.isAlive());
+        assertEquals(Arrays.asList("0", "1", "2", "3"), listener.awaitValues(4));
+        assertEquals(1, dispatcher.getBlockedCount());
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void shouldRunOnDrainerInsteadOfBlockingItself() throws InterruptedException {
+        BoundedAsyncDispatcher dispatcher = newDispatcher(OverflowPolicy.BLOCK);
+        EventManager eventManager = new EventManager(dispatcher);
+        FanOutListener listener = new FanOutListener(eventManager);
+        eventManager.register(listener);
+
+        eventManager.post(new FanOutEvent(0));
+
+        assertTrue(listener.done.await(2, TimeUnit.SECONDS));
+        assertEquals(1, dispatcher.getCallerRunsCount());
+        assertEquals(0, dispatcher.getBlockedCount());
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void shouldReleaseBlockedPosterOnShutdown() throws InterruptedException {
+        BoundedAsyncDispatcher dispatcher = newDispatcher(OverflowPolicy.BLOCK);
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        EventManager eventManager = EventManager.builder()
+                .asyncDispatcher(dispatcher)
+                .exceptionHandler((failure, eventHandler, event) -> failures.add(failure))
+                .build();
+        GatedListener listener = new GatedListener();
+        eventManager.register(listener);
+
+        eventManager.post(new KeyedEvent("k", "0"));
+        assertTrue(listener.started.await(2, TimeUnit.SECONDS));
+        eventManager.post(new KeyedEvent("k", "1"));
+        eventManager.post(new KeyedEvent("k", "2"));
+
+        Thread poster = new Thread(() -> eventManager.post(new KeyedEvent("k", "3")));
+        poster.start();
+        poster.join(200);
+        assertTrue(poster.isAlive());
+
+        dispatcher.shutdown();
+        poster.join(2000);
+        assertFalse(poster.isAlive());
+        assertTrue(failures.get(0) instanceof RejectedExecutionException);
+        listener.gate.countDown();
+    }
+
+    private static BoundedAsyncDispatcher newDispatcher(OverflowPolicy policy) {
+        return new BoundedAsyncDispatcher(Executors.newSingleThreadExecutor(), CAPACITY, policy);
+    }
+
+    private static GatedListener fillAndRelease(BoundedAsyncDispatcher dispatcher, int events) throws InterruptedException {
+        EventManager eventManager = new EventManager(dispatcher);
+        GatedListener listener = new GatedListener();
+        eventManager.register(listener);
+
+        eventManager.post(new KeyedEvent("k", "0"));
+        assertTrue(listener.started.await(2, TimeUnit.SECONDS));
+        for (int i = 1; i < events; i++)
+            eventManager.post(new KeyedEvent("k" + i, String.valueOf(i)));
+        listener.gate.countDown();
+        dispatcher.shutdown();
+        return listener;
+    }
+
+    public static class KeyedEvent implements IKeyed {
+        private final String key;
+        private final String value;
+
+        KeyedEvent(String key, String value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public Object getKey() {
+            return key;
+        }
+    }
+
+    public static class FanOutEvent {
+        private final int depth;
+
+        FanOutEvent(int depth) {
+            this.depth = depth;
+        }
+    }
+
+    public static class FanOutListener {
+        private final EventManager eventManager;
+        private final CountDownLatch done = new CountDownLatch(4);
+
+        FanOutListener(EventManager eventManager) {
+            this.eventManager = eventManager;
+        }
+
+        @Listener(async = true)
+        public void onFanOut(FanOutEvent event) {
+            if (event.depth == 0) {
+                for (int i = 0; i < CAPACITY + 1; i++)
+                    eventManager.post(new FanOutEvent(1));
+            }
+            done.countDown();
+        }
+    }
+
+    public static class GatedListener {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private final List<String> values = new CopyOnWriteArrayList<>();
+
+        @Listener(async = true)
+        public void onEvent(KeyedEvent event) throws InterruptedException {
+            if ("0".equals(event.value)) {
+                started.countDown();
+                gate.await();
+            }
+            values.add(event.value);
+        }
+
+        List<String> awaitValues(int expected) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (values.size() < expected && System.nanoTime() < deadline)
+                Thread.sleep(5);
+            return values;
+        }
+    }
+}
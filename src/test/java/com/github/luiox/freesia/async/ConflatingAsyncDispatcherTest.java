@@ -0,0 +1,103 @@
+package com.github.luiox.freesia.async;
+
+import com.github.luiox.freesia.EventManager;
+import com.github.luiox.freesia.IKeyed;
+import com.github.luiox.freesia.handler.Listener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConflatingAsyncDispatcherTest {
+    private static final int TICKS = 1_000;
+
+    private final ConflatingAsyncDispatcher dispatcher = new ConflatingAsyncDispatcher(Executors.newCachedThreadPool());
+    private final EventManager eventManager = new EventManager(dispatcher);
+
+    @AfterEach
+    void tearDown() {
+        eventManager.shutdown();
+    }
+
+    @Test
+    void shouldDeliverOnlyLatestPendingTickPerKey() throws InterruptedException {
+        TickListener listener = new TickListener();
+        eventManager.register(listener);
+
+        eventManager.post(new PriceTick("AAA", -1));
+        assertTrue(listener.started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < TICKS; i++) {
+            eventManager.post(new PriceTick("AAA", i));
+            eventManager.post(new PriceTick("BBB", i));
+        }
+        listener.release.countDown();
+
+        assertTrue(listener.done.await(5, TimeUnit.SECONDS));
+        assertEquals(TICKS - 1, listener.latest.get("AAA").intValue());
+        assertEquals(TICKS - 1, listener.latest.get("BBB").intValue());
+        assertEquals(3, listener.received.size());
+        assertEquals(3L, dispatcher.getDeliveredCount());
+        assertEquals(2L * TICKS - 2, dispatcher.getConflatedCount());
+    }
+
+    @Test
+    void shouldReleaseSlotsOfDrainedKeys() throws InterruptedException {
+        eventManager.register(new IdleListener());
+        for (int i = 0; i < TICKS; i++)
+            eventManager.post(new PriceTick("SYM" + i, i));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dispatcher.getDeliveredCount() + dispatcher.getConflatedCount() < TICKS && System.nanoTime() < deadline)
+            Thread.sleep(5);
+        assertEquals(TICKS, dispatcher.getDeliveredCount());
+        assertEquals(0, dispatcher.getPendingKeyCount());
+    }
+
+    public static class IdleListener {
+        @Listener(async = true)
+        public void onTick(PriceTick tick) {
+        }
+    }
+
+    public static class PriceTick implements IKeyed {
+        private final String symbol;
+        private final int sequence;
+
+        public PriceTick(String symbol, int sequence) {
+            this.symbol = symbol;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public Object getKey() {
+            return this.symbol;
+        }
+    }
+
+    public static class TickListener {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch done = new CountDownLatch(3);
+        private final List<PriceTick> received = new CopyOnWriteArrayList<>();
+        private final Map<String, Integer> latest = new ConcurrentHashMap<>();
+
+        @Listener(async = true)
+        public void onTick(PriceTick tick) throws InterruptedException {
+            received.add(tick);
+            latest.put(tick.symbol, tick.sequence);
+            if (tick.sequence < 0) {
+                started.countDown();
+                release.await();
+            }
+            done.countDown();
+        }
+    }
+}
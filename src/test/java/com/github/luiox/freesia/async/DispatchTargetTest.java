@@ -0,0 +1,102 @@
+package com.github.luiox.freesia.async;
+
+import com.github.luiox.freesia.EventManager;
+import com.github.luiox.freesia.handler.Listener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DispatchTargetTest {
+    private final EventManager eventManager = new EventManager();
+
+    @AfterEach
+    void tearDown() {
+        eventManager.shutdown();
+    }
+
+    @Test
+    void shouldQueueUntilOwningLoopDrains() throws Exception {
+        DispatchTarget target = eventManager.target("tick", 8);
+        LoopListener listener = new LoopListener();
+        eventManager.register(listener);
+
+        eventManager.post(new TickEvent(1));
+        CompletableFuture<TickEvent> future = eventManager.postAsync(new TickEvent(2));
+        assertTrue(listener.values.isEmpty());
+        assertFalse(future.isDone());
+
+        Thread loop = new Thread(() -> {
+            while (target.drain() == 0) {
+            }
+        }, "tick-loop");
+        loop.start();
+        loop.join(5_000);
+
+        assertEquals(2, future.get(5, TimeUnit.SECONDS).value);
+        assertEquals(Arrays.asList(1, 2), listener.values);
+        assertEquals(Arrays.asList("tick-loop", "tick-loop"), listener.threads);
+        assertTrue(target.isEmpty());
+    }
+
+    @Test
+    void shouldDrainInlineWhenOwnerPostsIntoFullTarget() {
+        DispatchTarget target = eventManager.target("tick", 2);
+        LoopListener listener = new LoopListener();
+        eventManager.register(listener);
+        target.drain();
+
+        for (int i = 0; i < 5; i++)
+            eventManager.post(new TickEvent(i));
+        target.drain();
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), listener.values);
+        assertSame(target, eventManager.target("tick"));
+        assertThrows(IllegalStateException.class, () -> eventManager.target("tick", 4));
+    }
+
+    @Test
+    void shouldRejectDrainFromAnotherThread() throws InterruptedException {
+        DispatchTarget target = eventManager.target("tick");
+        target.drain();
+
+        List<Throwable> failures = new ArrayList<>();
+        Thread intruder = new Thread(() -> {
+            try {
+                target.drain();
+            } catch (IllegalStateException exception) {
+                failures.add(exception);
+            }
+        });
+        intruder.start();
+        intruder.join(5_000);
+
+        assertEquals(1, failures.size());
+        assertEquals(0, target.drain());
+    }
+
+    public static class TickEvent {
+        private final int value;
+
+        public TickEvent(int value) {
+            this.value = value;
+        }
+    }
+
+    public static class LoopListener {
+        private final List<Integer> values = new ArrayList<>();
+        private final List<String> threads = new ArrayList<>();
+
+        @Listener(thread = "tick")
+        public void onTick(TickEvent event) {
+            values.add(event.value);
+            threads.add(Thread.currentThread().getName());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.luiox.freesia.async;
+
+import com.github.luiox.freesia.EventManager;
+import com.github.luiox.freesia.IKeyed;
+import com.github.luiox.freesia.handler.Listener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedAsyncDispatcherTest {
+    private static final int KEYS = 16;
+    private static final int EVENTS_PER_KEY = 1_000;
+
+    private final EventManager eventManager = EventManager.builder().partitioned(4).build();
+
+    @AfterEach
+    void tearDown() {
+        eventManager.shutdown();
+    }
+
+    @Test
+    void shouldDeliverInOrderPerKeyOnOneLane() throws InterruptedException {
+        OrderListener listener = new OrderListener(KEYS * EVENTS_PER_KEY);
+        eventManager.register(listener);
+
+        for (int sequence = 0; sequence < EVENTS_PER_KEY; sequence++) {
+            for (int key = 0; key < KEYS; key++)
+                eventManager.post(new OrderEvent("order-" + key, sequence));
+        }
+
+        assertTrue(listener.latch.await(5, TimeUnit.SECONDS));
+        assertEquals(KEYS, listener.sequences.size());
+        Set<String> threads = new HashSet<>();
+        for (int key = 0; key < KEYS; key++) {
+            List<Integer> sequences = listener.sequences.get("order-" + key);
+            assertEquals(EVENTS_PER_KEY, sequences.size());
+            for (int i = 0; i < EVENTS_PER_KEY; i++)
+                assertEquals(i, sequences.get(i).intValue());
+
+            Set<String> keyThreads = listener.threads.get("order-" + key);
+            assertEquals(1, keyThreads.size());
+            threads.addAll(keyThreads);
+        }
+        assertTrue(threads.size() > 1);
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("freesia-partition-")));
+    }
+
+    @Test
+    void shouldUseCustomKeyExtractor() throws InterruptedException {
+        EventManager customManager = new EventManager(new PartitionedAsyncDispatcher(2,
+                event -> ((OrderEvent) event).orderId.length()));
+        OrderListener listener = new OrderListener(EVENTS_PER_KEY);
+        customManager.register(listener);
+
+        for (int sequence = 0; sequence < EVENTS_PER_KEY; sequence++)
+            customManager.post(new OrderEvent("x", sequence));
+
+        assertTrue(listener.latch.await(5, TimeUnit.SECONDS));
+        List<Integer> sequences = listener.sequences.get("x");
+        for (int i = 0; i < EVENTS_PER_KEY; i++)
+            assertEquals(i, sequences.get(i).intValue());
+        customManager.shutdown();
+    }
+
+    public static class OrderEvent implements IKeyed {
+        private final String orderId;
+        private final int sequence;
+
+        public OrderEvent(String orderId, int sequence) {
+            this.orderId = orderId;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public Object getKey() {
+            return this.orderId;
+        }
+    }
+
+    public static class OrderListener {
+        private final Map<String, List<Integer>> sequences = new ConcurrentHashMap<>();
+        private final Map<String, Set<String>> threads = new ConcurrentHashMap<>();
+        private final CountDownLatch latch;
+
+        public OrderListener(int expected) {
+            this.latch = new CountDownLatch(expected);
+        }
+
+        @Listener(async = true)
+        public void onOrder(OrderEvent event) {
+            sequences.computeIfAbsent(event.orderId, key -> new ArrayList<>()).add(event.sequence);
+            threads.computeIfAbsent(event.orderId, key -> ConcurrentHashMap.newKeySet())
+                    .add(Thread.currentThread().getName());
+            latch.countDown();
+        }
+    }
+}
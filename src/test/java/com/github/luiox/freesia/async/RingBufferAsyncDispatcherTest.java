@@ -0,0 +1,107 @@
+package com.github.luiox.freesia.async;
+
+import com.github.luiox.freesia.EventManager;
+import com.github.luiox.freesia.handler.Listener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferAsyncDispatcherTest {
+    private static final int EVENTS = 10_000;
+
+    private final EventManager eventManager = new EventManager(
+            new RingBufferAsyncDispatcher(64, 2, WaitStrategy.yielding(), 16));
+
+    @AfterEach
+    void tearDown() {
+        eventManager.shutdown();
+    }
+
+    @Test
+    void shouldDeliverInOrderPerHandlerOnConsumerThreads() throws InterruptedException {
+        SequenceListener listener = new SequenceListener(EVENTS);
+        eventManager.register(listener);
+
+        for (int i = 0; i < EVENTS; i++)
+            eventManager.post(new SequenceEvent(i));
+
+        assertTrue(listener.latch.await(5, TimeUnit.SECONDS));
+        assertEquals(EVENTS, listener.first.size());
+        assertEquals(EVENTS, listener.second.size());
+        for (int i = 0; i < EVENTS; i++) {
+            assertEquals(i, listener.first.get(i).intValue());
+            assertEquals(i, listener.second.get(i).intValue());
+        }
+        assertEquals(0, listener.foreignThreadCalls.get());
+    }
+
+    @Test
+    void shouldWrapAroundWithConcurrentProducers() throws InterruptedException {
+        int producers = 4;
+        SequenceListener listener = new SequenceListener(producers * EVENTS);
+        eventManager.register(listener);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < EVENTS; i++)
+                    eventManager.post(new SequenceEvent(i));
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+
+        assertTrue(listener.latch.await(5, TimeUnit.SECONDS));
+        assertEquals(producers * EVENTS, listener.first.size());
+    }
+
+    @Test
+    void shouldRejectNonPowerOfTwoCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(100, Object::new));
+    }
+
+    public static class SequenceEvent {
+        private final int value;
+
+        SequenceEvent(int value) {
+            this.value = value;
+        }
+    }
+
+    public static class SequenceListener {
+        private final List<Integer> first = new ArrayList<>();
+        private final List<Integer> second = new ArrayList<>();
+        private final AtomicInteger foreignThreadCalls = new AtomicInteger();
+        private final CountDownLatch latch;
+
+        SequenceListener(int expected) {
+            this.latch = new CountDownLatch(expected * 2);
+        }
+
+        @Listener(async = true, priority = 1)
+        public void onFirst(SequenceEvent event) {
+            record(first, event);
+        }
+
+        @Listener(async = true)
+        public void onSecond(SequenceEvent event) {
+            record(second, event);
+        }
+
+        private void record(List<Integer> values, SequenceEvent event) {
+            if (!Thread.currentThread().getName().startsWith("freesia-ring-"))
+                foreignThreadCalls.incrementAndGet();
+            values.add(event.value);
+            latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.luiox.freesia.async;
+
+import com.github.luiox.freesia.EventManager;
+import com.github.luiox.freesia.handler.Listener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadAsyncDispatcherTest {
+    private static final int EVENTS = 20;
+    private static final int LIMIT = 3;
+
+    private final EventManager eventManager = EventManager.builder().virtualThreads(LIMIT).build();
+
+    @AfterEach
+    void tearDown() {
+        eventManager.shutdown();
+    }
+
+    @Test
+    void shouldCapConcurrentInvocationsPerListener() throws InterruptedException {
+        BlockingListener listener = new BlockingListener();
+        eventManager.register(listener);
+
+        for (int i = 0; i < EVENTS; i++)
+            eventManager.post(new BlockingEvent());
+
+        assertTrue(listener.started.await(2, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertEquals(LIMIT, listener.active.get());
+
+        listener.gate.countDown();
+        assertTrue(listener.finished.await(2, TimeUnit.SECONDS));
+        assertEquals(LIMIT, listener.maxActive.get());
+    }
+
+    @Test
+    void shouldRunOnVirtualThreadsWhenSupported() throws Exception {
+        VirtualThreadAsyncDispatcher dispatcher = new VirtualThreadAsyncDispatcher();
+        assertEquals(VirtualThreadAsyncDispatcher.isSupported(), dispatcher.isVirtual());
+
+        EventManager virtualManager = new EventManager(dispatcher);
+        ThreadProbeListener listener = new ThreadProbeListener();
+        virtualManager.register(listener);
+        virtualManager.post(new BlockingEvent());
+
+        assertTrue(listener.latch.await(2, TimeUnit.SECONDS));
+        assertEquals(dispatcher.isVirtual(), listener.virtual.get());
+        virtualManager.shutdown();
+    }
+
+    public static class BlockingEvent {}
+
+    public static class BlockingListener {
+        private final CountDownLatch started = new CountDownLatch(LIMIT);
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private final CountDownLatch finished = new CountDownLatch(EVENTS);
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger maxActive = new AtomicInteger();
+
+        @Listener(async = true)
+        public void onEvent(BlockingEvent event) throws InterruptedException {
+            int current = active.incrementAndGet();
+            maxActive.accumulateAndGet(current, Math::max);
+            started.countDown();
+            gate.await();
+            active.decrementAndGet();
+            finished.countDown();
+        }
+    }
+
+    public static class ThreadProbeListener {
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private final AtomicBoolean virtual = new AtomicBoolean();
+
+        @Listener(async = true)
+        public void onEvent(BlockingEvent event) throws Exception {
+            virtual.set(isVirtual(Thread.currentThread()));
+            latch.countDown();
+        }
+
+        private static boolean isVirtual(Thread thread) throws Exception {
+            try {
+                Method isVirtual = Thread.class.getMethod("isVirtual");
+                return (Boolean) isVirtual.invoke(thread);
+            } catch (NoSuchMethodException exception) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.luiox.freesia.channel;
+
+import com.github.luiox.freesia.EventManager;
+import com.github.luiox.freesia.handler.Listener;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitiveChannelTest {
+    @Test
+    void shouldDispatchLongsByPriorityAndStopAfterUnregister() {
+        LongChannel channel = new LongChannel();
+        TickListener listener = new TickListener();
+
+        assertTrue(channel.register(listener));
+        assertFalse(channel.register(listener));
+        assertEquals(2, channel.size());
+
+        channel.post(7L);
+        assertEquals(Arrays.asList("high:7", "low:7"), listener.calls);
+
+        assertTrue(channel.unregister(listener));
+        channel.post(8L);
+        assertEquals(2, listener.calls.size());
+        assertFalse(channel.isRegistered(listener));
+    }
+
+    @Test
+    void shouldBindOnlyMatchingPrimitiveListenersPerChannel() {
+        DoubleChannel prices = new DoubleChannel();
+        TickListener listener = new TickListener();
+        assertTrue(prices.register(listener));
+        assertEquals(1, prices.size());
+
+        prices.post(1.5);
+        assertEquals(Arrays.asList("price:1.5"), listener.calls);
+
+        EventManager eventManager = new EventManager();
+        assertTrue(eventManager.register(listener));
+        eventManager.post("event");
+        assertEquals(Arrays.asList("price:1.5", "object:event"), listener.calls);
+        eventManager.shutdown();
+
+        assertThrows(IllegalArgumentException.class, () -> prices.register(new AsyncTickListener()));
+    }
+
+    @Test
+    void shouldNotAllocateOnPost() {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocationMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        Assumptions.assumeTrue(allocationMXBean.isThreadAllocatedMemorySupported());
+        allocationMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        LongChannel channel = new LongChannel();
+        CountingListener listener = new CountingListener();
+        channel.register(listener);
+        for (int i = 0; i < 100_000; i++)
+            channel.post(i);
+
+        long threadId = Thread.currentThread().getId();
+        long allocated = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            long before = allocationMXBean.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < 100_000; i++)
+                channel.post(i);
+            allocated = Math.min(allocated, allocationMXBean.getThreadAllocatedBytes(threadId) - before);
+        }
+
+        assertEquals(600_000L, listener.count);
+        assertTrue(allocated <= 64, "post allocated " + allocated + " bytes");
+    }
+
+    public static class TickListener {
+        private final List<String> calls = new ArrayList<>();
+
+        @Listener(priority = 10)
+        public void onHigh(long tick) {
+            calls.add("high:" + tick);
+        }
+
+        @Listener
+        public void onLow(long tick) {
+            calls.add("low:" + tick);
+        }
+
+        @Listener
+        public void onPrice(double price) {
+            calls.add("price:" + price);
+        }
+
+        @Listener
+        public void onObject(String event) {
+            calls.add("object:" + event);
+        }
+    }
+
+    public static class AsyncTickListener {
+        @Listener(async = true)
+        public void onPrice(double price) {
+        }
+    }
+
+    public static class CountingListener {
+        private long count;
+
+        @Listener
+        public void onTick(long tick) {
+            count++;
+        }
+    }
+}
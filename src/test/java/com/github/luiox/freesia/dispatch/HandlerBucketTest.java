@@ -0,0 +1,92 @@
+package com.github.luiox.freesia.dispatch;
+
+import com.github.luiox.freesia.filter.EventFilter;
+import com.github.luiox.freesia.handler.EventHandler;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HandlerBucketTest {
+
+    @Test
+    void shouldKeepHandlersOrderedByPriorityThenInsertion() {
+        HandlerBucket bucket = new HandlerBucket();
+        List<EventHandler> expected = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int round = 0; round < 2000; round++) {
+            if (expected.isEmpty() || random.nextInt(3) != 0) {
+                EventHandler handler = new PriorityHandler(random.nextInt(5));
+                assertTrue(bucket.addAll(Collections.singletonList(handler)));
+                int index = 0;
+                while (index < expected.size() && expected.get(index).compareTo(handler) <= 0)
+                    index++;
+                expected.add(index, handler);
+            } else {
+                EventHandler handler = expected.remove(random.nextInt(expected.size()));
+                assertEquals(expected.isEmpty(), bucket.removeAll(Collections.singletonList(handler)));
+                if (expected.isEmpty())
+                    bucket = new HandlerBucket();
+            }
+            assertArrayEquals(expected.toArray(), bucket.snapshot());
+        }
+    }
+
+    @Test
+    void shouldRetireBucketOnceEmpty() {
+        HandlerBucket bucket = new HandlerBucket();
+        EventHandler first = new PriorityHandler(0);
+        EventHandler second = new PriorityHandler(0);
+
+        assertTrue(bucket.addAll(Arrays.asList(first, second)));
+        assertFalse(bucket.removeAll(Collections.singletonList(new PriorityHandler(0))));
+        assertFalse(bucket.removeAll(Collections.singletonList(first)));
+        assertArrayEquals(new EventHandler[]{second}, bucket.snapshot());
+        assertTrue(bucket.removeAll(Collections.singletonList(second)));
+        assertFalse(bucket.addAll(Collections.singletonList(first)));
+        assertEquals(0, bucket.snapshot().length);
+    }
+
+    private static final class PriorityHandler implements EventHandler {
+        private final int priority;
+
+        private PriorityHandler(int priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public <E> void handle(E paramE) {
+        }
+
+        @Override
+        public Object getListener() {
+            return this;
+        }
+
+        @Override
+        public int getPriority() {
+            return this.priority;
+        }
+
+        @Override
+        public boolean isAsync() {
+            return false;
+        }
+
+        @Override
+        public Iterable<EventFilter> getFilters() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public int compareTo(EventHandler eventHandler) {
+            return Integer.compare(eventHandler.getPriority(), this.priority);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.github.luiox.freesia.handler;
+
+import com.github.luiox.freesia.filter.EventFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodHandlerScannerTest {
+
+    @Test
+    void shouldBindCachedTemplatesToEachInstance() {
+        MethodHandlerScanner scanner = new MethodHandlerScanner();
+        List<String> received = new ArrayList<>();
+        Map<Class<?>, Set<EventHandler>> first = scanner.locate(new TemplateListener("first", received));
+        Map<Class<?>, Set<EventHandler>> second = scanner.locate(new TemplateListener("second", received));
+
+        List<EventHandler> firstHandlers = new ArrayList<>(first.get(String.class));
+        List<EventHandler> secondHandlers = new ArrayList<>(second.get(String.class));
+        assertEquals(2, firstHandlers.size());
+        assertEquals(5, firstHandlers.get(0).getPriority());
+        assertEquals(0, firstHandlers.get(1).getPriority());
+        assertEquals(firstHandlers.get(1).getListener(), secondHandlers.get(1).getListener());
+        assertSame(firstHandlers.get(1).getFilters().iterator().next(),
+                secondHandlers.get(1).getFilters().iterator().next());
+
+        firstHandlers.get(1).handle("a");
+        secondHandlers.get(1).handle("b");
+        secondHandlers.get(1).handle("");
+        assertEquals(Arrays.asList("first:a", "second:b"), received);
+    }
+
+    @Test
+    void shouldShareStaticActionsAcrossInstances() {
+        MethodHandlerScanner scanner = new MethodHandlerScanner();
+        EventHandler first = scanner.locate(new TemplateListener("first", null)).get(Integer.class).iterator().next();
+        EventHandler second = scanner.locate(new TemplateListener("second", null)).get(Integer.class).iterator().next();
+
+        assertSame(first.getAction(), second.getAction());
+    }
+
+    @Test
+    void shouldRejectRawListBatchParameters() {
+        Map<Class<?>, Set<EventHandler>> handlers = new MethodHandlerScanner().locate(new RawBatchListener());
+
+        assertEquals(1, handlers.size());
+        assertTrue(handlers.containsKey(String.class));
+    }
+
+    public static class RawBatchListener {
+        @BatchListener
+        @SuppressWarnings("rawtypes")
+        public void onRaw(List events) {
+        }
+
+        @BatchListener
+        public void onStrings(List<String> events) {
+        }
+    }
+
+    public static class NonEmptyFilter implements EventFilter<String> {
+        @Override
+        public boolean test(EventHandler eventHandler, String event) {
+            return !event.isEmpty();
+        }
+    }
+
+    public static class TemplateListener {
+        private final String name;
+        private final List<String> received;
+
+        public TemplateListener(String name, List<String> received) {
+            this.name = name;
+            this.received = received;
+        }
+
+        @Listener(filters = {NonEmptyFilter.class})
+        public void onString(String event) {
+            received.add(name + ":" + event);
+        }
+
+        @Listener(priority = 5)
+        public void onStringFirst(String event) {
+        }
+
+        @Listener
+        public static void onInteger(Integer event) {
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.github.luiox.freesia.journal;
+
+import com.github.luiox.freesia.EventManager;
+import com.github.luiox.freesia.handler.Listener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventJournalTest {
+    private static final int SEGMENT_SIZE = 512;
+
+    private final Path directory = createDirectory();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void shouldReplayRangeAcrossSegmentsAndRecoverAfterReopen() throws IOException {
+        try (EventJournal journal = EventJournal.open(directory, new SerializableEventCodec(), SEGMENT_SIZE, 64)) {
+            for (int i = 0; i < 40; i++)
+                journal.append(new AuditEvent(i));
+            journal.append(new Object());
+            journal.flush();
+
+            assertEquals(39L, journal.lastSequence());
+            try (Stream<Path> segments = Files.list(directory)) {
+                assertTrue(segments.count() > 1);
+            }
+            assertEquals(Arrays.asList(5, 6, 7), values(journal, 5, 7));
+        }
+
+        try (EventJournal journal = EventJournal.open(directory, new SerializableEventCodec(), SEGMENT_SIZE, 64)) {
+            assertEquals(39L, journal.lastSequence());
+            journal.append(new AuditEvent(40));
+            journal.flush();
+
+            assertEquals(40L, journal.lastSequence());
+            assertEquals(Arrays.asList(38, 39, 40), values(journal, 38, Long.MAX_VALUE));
+        }
+    }
+
+    @Test
+    void shouldReportFailedRecordsWithoutPoisoningLaterFlushes() throws IOException {
+        List<Object> failed = new CopyOnWriteArrayList<>();
+        try (EventJournal journal = EventJournal.open(directory, new SerializableEventCodec(), SEGMENT_SIZE, 64,
+                (failure, eventHandler, event) -> failed.add(event))) {
+            journal.append(new Object());
+            journal.append(new AuditEvent(0));
+            journal.flush();
+            assertEquals(1L, journal.getSkippedCount());
+
+            tearDown();
+            for (int i = 1; i < 20; i++)
+                journal.append(new AuditEvent(i));
+            assertThrows(IllegalStateException.class, journal::flush);
+            assertTrue(journal.getFailedCount() > 0);
+            assertEquals(journal.getFailedCount(), failed.size());
+
+            Files.createDirectories(directory);
+            journal.append(new AuditEvent(20));
+            journal.flush();
+            assertEquals(19, ((AuditEvent) failed.get(failed.size() - 1)).value);
+            assertEquals(Arrays.asList(20), values(journal, journal.lastSequence(), journal.lastSequence()));
+        }
+    }
+
+    @Test
+    void shouldJournalPostedEventsAndReplayThroughBus() throws IOException {
+        EventJournal journal = EventJournal.open(directory, new SerializableEventCodec(), SEGMENT_SIZE, 64);
+        EventManager eventManager = EventManager.builder().journal(journal).build();
+        AuditListener listener = new AuditListener();
+        eventManager.register(listener);
+
+        eventManager.post(new AuditEvent(1));
+        eventManager.postAll(Arrays.asList(new AuditEvent(2), new AuditEvent(3)));
+        journal.flush();
+        assertEquals(2L, journal.lastSequence());
+
+        assertEquals(2L, eventManager.replay(1, 2));
+        journal.flush();
+        assertEquals(2L, journal.lastSequence());
+        assertEquals(Arrays.asList(1, 2, 3, 2, 3), listener.values);
+        eventManager.shutdown();
+    }
+
+    @Test
+    void shouldRecordEventsAsPostedBeforeListenersMutateThem() throws IOException {
+        EventJournal journal = EventJournal.open(directory, new SerializableEventCodec(), SEGMENT_SIZE, 64);
+        EventManager eventManager = EventManager.builder().journal(journal).build();
+        eventManager.register(new MutatingListener());
+
+        CounterEvent event = new CounterEvent();
+        eventManager.post(event);
+        journal.flush();
+
+        assertEquals(1, event.value);
+        List<Integer> values = new ArrayList<>();
+        journal.replay(0, 0, replayed -> values.add(((CounterEvent) replayed).value));
+        assertEquals(Arrays.asList(0), values);
+        eventManager.shutdown();
+    }
+
+    private static List<Integer> values(EventJournal journal, long from, long to) throws IOException {
+        List<Integer> values = new ArrayList<>();
+        journal.replay(from, to, event -> values.add(((AuditEvent) event).value));
+        return values;
+    }
+
+    private static Path createDirectory() {
+        try {
+            return Files.createTempDirectory("freesia-journal");
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    public static class AuditEvent implements Serializable {
+        private final int value;
+
+        public AuditEvent(int value) {
+            this.value = value;
+        }
+    }
+
+    public static class CounterEvent implements Serializable {
+        private int value;
+    }
+
+    public static class MutatingListener {
+        @Listener
+        public void onCounter(CounterEvent event) {
+            event.value++;
+        }
+    }
+
+    public static class AuditListener {
+        private final List<Integer> values = new ArrayList<>();
+
+        @Listener
+        public void onAudit(AuditEvent event) {
+            values.add(event.value);
+        }
+    }
+}
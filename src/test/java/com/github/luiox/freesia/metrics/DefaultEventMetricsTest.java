@@ -0,0 +1,146 @@
+package com.github.luiox.freesia.metrics;
+
+import com.github.luiox.freesia.EventManager;
+import com.github.luiox.freesia.handler.BatchListener;
+import com.github.luiox.freesia.handler.Listener;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DefaultEventMetricsTest {
+
+    @Test
+    void shouldCountPostsInvocationsAndExceptions() throws Exception {
+        DefaultEventMetrics metrics = new DefaultEventMetrics();
+        EventManager eventManager = EventManager.builder().metrics(metrics).build();
+        CountingListener listener = new CountingListener();
+        eventManager.register(listener);
+
+        eventManager.post("first");
+        eventManager.post("boom");
+        eventManager.postAll(Arrays.asList("second", "third"));
+
+        assertEquals(4L, metrics.getPostCount(String.class));
+        assertEquals(3, listener.calls);
+
+        List<HandlerSnapshot> snapshots = metrics.getHandlerSnapshots();
+        assertEquals(1, snapshots.size());
+        HandlerSnapshot snapshot = snapshots.get(0);
+        assertEquals(CountingListener.class.getName() + "#onString", snapshot.getName());
+        assertEquals(4L, snapshot.getInvocations());
+        assertEquals(1L, snapshot.getExceptions());
+
+        LatencyHistogram histogram = metrics.getLatencyHistogram(
+                CountingListener.class.getMethod("onString", String.class));
+        assertNotNull(histogram);
+        assertEquals(4L, histogram.getCount());
+
+        metrics.reset();
+        assertEquals(0L, metrics.getPostCount(String.class));
+        assertEquals(0L, histogram.getCount());
+        eventManager.shutdown();
+    }
+
+    @Test
+    void shouldRecordBatchListenerInvocations() {
+        DefaultEventMetrics metrics = new DefaultEventMetrics();
+        EventManager eventManager = EventManager.builder().metrics(metrics).build();
+        eventManager.register(new BatchCountingListener());
+
+        eventManager.postAll(Arrays.asList("first", "second", "third", "fourth"));
+
+        List<HandlerSnapshot> snapshots = metrics.getHandlerSnapshots();
+        assertEquals(1, snapshots.size());
+        assertEquals(BatchCountingListener.class.getName() + "#onStrings", snapshots.get(0).getName());
+        assertEquals(2L, snapshots.get(0).getInvocations());
+        eventManager.shutdown();
+    }
+
+    @Test
+    void shouldReportSlowListeners() {
+        List<Long> slowDurations = new CopyOnWriteArrayList<>();
+        DefaultEventMetrics metrics = new DefaultEventMetrics(1L, TimeUnit.MILLISECONDS,
+                (eventHandler, event, durationNanos) -> slowDurations.add(durationNanos));
+        EventManager eventManager = EventManager.builder().metrics(metrics).build();
+        eventManager.register(new SlowListener());
+
+        eventManager.post(5L);
+        eventManager.post(0L);
+
+        assertEquals(1, slowDurations.size());
+        assertTrue(slowDurations.get(0) >= TimeUnit.MILLISECONDS.toNanos(5L));
+        eventManager.shutdown();
+    }
+
+    @Test
+    void shouldEstimatePercentilesWithinBucketResolution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1L; value <= 10_000L; value++)
+            histogram.record(value * 1_000L);
+
+        assertEquals(10_000L, histogram.getCount());
+        assertEquals(10_000_000L, histogram.getMax());
+        assertEquals(5_000_500.0, histogram.getMean(), 0.5);
+        assertEquals(5_000_000.0, histogram.getValueAtPercentile(50.0), 5_000_000.0 / 16);
+        assertEquals(9_900_000.0, histogram.getValueAtPercentile(99.0), 9_900_000.0 / 16);
+        assertEquals(10_000_000L, histogram.getValueAtPercentile(100.0));
+
+        for (long value : new long[]{0L, 15L, 16L, 17L, 1_000L, 123_456_789L}) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(LatencyHistogram.highestValueOf(bucket) >= value);
+            assertTrue(bucket == 0 || LatencyHistogram.highestValueOf(bucket - 1) < value);
+        }
+    }
+
+    @Test
+    void shouldExposeMetricsThroughJmx() throws Exception {
+        DefaultEventMetrics metrics = new DefaultEventMetrics();
+        EventManager eventManager = EventManager.builder().metrics(metrics).build();
+        eventManager.register(new CountingListener());
+        eventManager.post("event");
+
+        ObjectName objectName = metrics.registerMBean("jmx-test");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            assertTrue(server.isRegistered(objectName));
+            assertNotNull(server.getAttribute(objectName, "PostCounts"));
+            assertNotNull(server.getAttribute(objectName, "HandlerSnapshots"));
+        } finally {
+            server.unregisterMBean(objectName);
+            eventManager.shutdown();
+        }
+    }
+
+    public static class CountingListener {
+        private int calls;
+
+        @Listener
+        public void onString(String event) {
+            if ("boom".equals(event))
+                throw new IllegalStateException(event);
+            calls++;
+        }
+    }
+
+    public static class BatchCountingListener {
+        @BatchListener(maxSize = 2, maxDelayMs = 60_000)
+        public void onStrings(List<String> events) {
+        }
+    }
+
+    public static class SlowListener {
+        @Listener
+        public void onLong(Long delayMillis) throws InterruptedException {
+            if (delayMillis > 0L)
+                Thread.sleep(delayMillis);
+        }
+    }
+}